@@ -0,0 +1,117 @@
+package com.markort147.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test of a running instance of the application, comparing how requests are served while the
+ * solvers are busy, e.g. with and without {@code spring.threads.virtual.enabled}.
+ * <p>
+ * Each client sends a request as soon as the previous one is answered. A fraction of the requests are heavy:
+ * random items, so never found in the cache and actually solved. The others are light: always the same items, so
+ * answered by the cache and made of parsing, validation and logging only. Latencies are reported for each kind.
+ * <p>
+ * Run it with:
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile
+ * java -cp target/test-classes com.markort147.benchmarks.LoadTest http://localhost:8080 256 30 0.2
+ * </pre>
+ * with arguments: base URL, number of clients, seconds of measurement (after as many seconds of warmup, at most 10),
+ * fraction of heavy requests.
+ */
+public class LoadTest {
+
+    private static final String LIGHT_REQUEST = "{\"max_weight\": 75, \"items\": ["
+            + "{\"Item ID\": 1, \"Weight\": 85.31, \"Price\": 29}, {\"Item ID\": 2, \"Weight\": 14.55, \"Price\": 74}, "
+            + "{\"Item ID\": 3, \"Weight\": 3.98, \"Price\": 16}, {\"Item ID\": 4, \"Weight\": 26.24, \"Price\": 55}]}";
+
+    public static void main(String[] args) throws InterruptedException {
+        URI uri = URI.create(args[0] + "/api/best-combination");
+        int clients = Integer.parseInt(args[1]);
+        int seconds = Integer.parseInt(args[2]);
+        double heavyFraction = Double.parseDouble(args[3]);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.min(seconds, 10));
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(seconds);
+        List<Long> lightLatencies = Collections.synchronizedList(new ArrayList<>());
+        List<Long> heavyLatencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int client = 0; client < clients; client++) {
+            Random random = new Random(client);
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        boolean heavy = random.nextDouble() < heavyFraction;
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Content-Type", "application/json")
+                                .timeout(Duration.ofSeconds(60))
+                                .POST(HttpRequest.BodyPublishers.ofString(heavy ? heavyRequest(random) : LIGHT_REQUEST))
+                                .build();
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception exception) {
+                            status = -1;
+                        }
+                        long stop = System.nanoTime();
+                        if (start < warmupEnd) continue;
+                        if (status != 200) errors.incrementAndGet();
+                        else (heavy ? heavyLatencies : lightLatencies).add(stop - start);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        System.out.printf(Locale.ROOT, "clients=%d, seconds=%d, heavyFraction=%.2f, errors=%d%n", clients, seconds, heavyFraction, errors.get());
+        report("light", lightLatencies, seconds);
+        report("heavy", heavyLatencies, seconds);
+    }
+
+    private static String heavyRequest(Random random) {
+        StringBuilder request = new StringBuilder("{\"max_weight\": 100, \"items\": [");
+        for (int item = 1; item <= 15; item++) {
+            if (item > 1) request.append(", ");
+            request.append(String.format(Locale.ROOT, "{\"Item ID\": %d, \"Weight\": %.2f, \"Price\": %.2f}",
+                    item, 1 + random.nextInt(9_900) / 100.0, 1 + random.nextInt(9_900) / 100.0));
+        }
+        return request.append("]}").toString();
+    }
+
+    private static void report(String kind, List<Long> latencies, int seconds) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        if (sorted.isEmpty()) {
+            System.out.printf(Locale.ROOT, "%s: no requests%n", kind);
+            return;
+        }
+        System.out.printf(Locale.ROOT, "%s: requests=%d, throughput=%.1f/s, p50=%.1fms, p99=%.1fms, max=%.1fms%n",
+                kind, sorted.size(), sorted.size() / (double) seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted.get(sorted.size() - 1) / 1e6);
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1)) / 1e6;
+    }
+}
@@ -0,0 +1,79 @@
+package com.markort147.benchmarks;
+
+import com.markort147.configs.DataFormatConfiguration;
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.services.CombinationMatrix;
+import com.markort147.services.CombinationMatrixBuilder;
+import com.markort147.services.ParallelRowFiller;
+import com.markort147.services.PrimitiveCombinationSolver;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential against parallel fill of the rows, on requests whose capacity is rescaled to wide rows
+ * (100 with 3 decimals is 100001 columns). The parallel fill runs on the common {@link ForkJoinPool}, whose
+ * parallelism is the number of cores minus one by default: the speedup can only show on a machine with several cores,
+ * and can be measured for each number of cores with {@code -jvmArgs -Djava.util.concurrent.ForkJoinPool.common.parallelism=N}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ParallelFillBenchmark {
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    @Param({"3"})
+    private int weightDecimals;
+
+    @Param({"15"})
+    private int itemCount;
+
+    private RequestDto request;
+    private CombinationMatrixBuilder combinationMatrixBuilder;
+    private PrimitiveCombinationSolver primitiveCombinationSolver;
+
+    @Setup
+    public void setup() {
+        request = TestDataFactory.createRandomRequest(new Random(147), itemCount, 100, weightDecimals);
+
+        DataFormatConfiguration dataFormatConfiguration = new DataFormatConfiguration();
+        dataFormatConfiguration.setWeightDecimals(weightDecimals);
+        WeightRescaler weightRescaler = new WeightRescaler(dataFormatConfiguration);
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getParallelFill().setEnabled(parallel);
+        ParallelRowFiller parallelRowFiller = new ParallelRowFiller(solverConfiguration);
+        combinationMatrixBuilder = new CombinationMatrixBuilder(weightRescaler, parallelRowFiller);
+        primitiveCombinationSolver = new PrimitiveCombinationSolver(weightRescaler, parallelRowFiller);
+    }
+
+    @Benchmark
+    public CombinationMatrix matrixBuild() {
+        return combinationMatrixBuilder.buildMatrix(request);
+    }
+
+    @Benchmark
+    public Set<Integer> primitive() {
+        return primitiveCombinationSolver.getBestCombination(request);
+    }
+}
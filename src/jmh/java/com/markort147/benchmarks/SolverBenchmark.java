@@ -0,0 +1,124 @@
+package com.markort147.benchmarks;
+
+import com.markort147.configs.DataFormatConfiguration;
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.models.ResponseDto;
+import com.markort147.services.BestCombinationFinder;
+import com.markort147.services.BestCombinationService;
+import com.markort147.services.BranchAndBoundCombinationSolver;
+import com.markort147.services.CombinationMatrix;
+import com.markort147.services.CombinationMatrixBuilder;
+import com.markort147.services.MatrixCombinationSolver;
+import com.markort147.services.MeetInTheMiddleCombinationSolver;
+import com.markort147.services.ParallelRowFiller;
+import com.markort147.services.PrimitiveCombinationSolver;
+import com.markort147.services.RollingCombinationSolver;
+import com.markort147.services.SolverDiagnostics;
+import com.markort147.services.SolverExecutor;
+import com.markort147.services.VectorCombinationSolver;
+import com.markort147.testhelper.BestCombinationServiceBuilder;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the solver hot path: the build of the combination matrix, its backtrack, and the whole
+ * {@link BestCombinationService#process(RequestDto)}, over a grid of item count, capacity and weight decimals.
+ * Requests are generated like the ones in {@code src/test/resources/testRequests}: integer prices up to 100
+ * and weights up to 100.
+ * <p>
+ * The result cache is disabled, so every call of the service solves the request. The service is otherwise built as in
+ * production: it dispatches with the {@code auto} engine and the default cost factors among all the solvers, which fill
+ * wide rows in parallel, and solves on the solver pool.
+ * Run with {@code -prof gc} (the default of the benchmark profile) to see the allocation rate next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"5", "15"})
+    private int itemCount;
+
+    @Param({"10", "100"})
+    private int capacity;
+
+    @Param({"0", "2"})
+    private int weightDecimals;
+
+    private RequestDto request;
+    private CombinationMatrixBuilder combinationMatrixBuilder;
+    private BestCombinationFinder bestCombinationFinder;
+    private CombinationMatrix matrix;
+    private SolverExecutor solverExecutor;
+    private BestCombinationService bestCombinationService;
+
+    @Setup
+    public void setup() {
+        request = TestDataFactory.createRandomRequest(new Random(147), itemCount, capacity, weightDecimals);
+
+        DataFormatConfiguration dataFormatConfiguration = new DataFormatConfiguration();
+        dataFormatConfiguration.setWeightDecimals(weightDecimals);
+        WeightRescaler weightRescaler = new WeightRescaler(dataFormatConfiguration);
+        combinationMatrixBuilder = new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential());
+        bestCombinationFinder = new BestCombinationFinder(weightRescaler);
+        matrix = combinationMatrixBuilder.buildMatrix(request);
+
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getCache().setEnabled(false);
+        ParallelRowFiller parallelRowFiller = new ParallelRowFiller(solverConfiguration);
+        solverExecutor = new SolverExecutor(solverConfiguration, new SimpleMeterRegistry());
+        bestCombinationService = new BestCombinationServiceBuilder()
+                .weightRescaler(weightRescaler)
+                .solverConfiguration(solverConfiguration)
+                .solverExecutor(solverExecutor)
+                .solvers(
+                        new MatrixCombinationSolver(new CombinationMatrixBuilder(weightRescaler, parallelRowFiller), bestCombinationFinder, weightRescaler, new SolverDiagnostics(solverConfiguration)),
+                        new PrimitiveCombinationSolver(weightRescaler, parallelRowFiller),
+                        new RollingCombinationSolver(weightRescaler),
+                        new VectorCombinationSolver(weightRescaler, parallelRowFiller),
+                        new MeetInTheMiddleCombinationSolver(),
+                        new BranchAndBoundCombinationSolver(weightRescaler, solverConfiguration))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        solverExecutor.shutdown();
+    }
+
+    @Benchmark
+    public CombinationMatrix matrixBuild() {
+        return combinationMatrixBuilder.buildMatrix(request);
+    }
+
+    @Benchmark
+    public Set<Integer> matrixBacktrack() {
+        return bestCombinationFinder.getBestCombination(matrix, request.getItems());
+    }
+
+    @Benchmark
+    public ResponseDto process() {
+        return bestCombinationService.process(request);
+    }
+}
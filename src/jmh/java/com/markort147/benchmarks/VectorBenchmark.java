@@ -0,0 +1,70 @@
+package com.markort147.benchmarks;
+
+import com.markort147.configs.DataFormatConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.services.CombinationSolver;
+import com.markort147.services.ParallelRowFiller;
+import com.markort147.services.PrimitiveCombinationSolver;
+import com.markort147.services.RollingCombinationSolver;
+import com.markort147.services.VectorCombinationSolver;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The vector engine against the scalar dynamic programming engines, on 15 items and a capacity of 100
+ * rescaled to wider and wider rows. Rows are filled by a single thread, so only the per-core speedup of the SIMD
+ * instructions is measured. The fork adds the {@code jdk.incubator.vector} module; the scalar fallback of the
+ * vector engine can be measured by replacing the JVM options, e.g. {@code -jvmArgs -Xmx2g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "--add-modules=jdk.incubator.vector"})
+public class VectorBenchmark {
+
+    @Param({"primitive", "rolling", "vector"})
+    private String engine;
+
+    @Param({"0", "2", "3"})
+    private int weightDecimals;
+
+    private RequestDto request;
+    private CombinationSolver solver;
+
+    @Setup
+    public void setup() {
+        request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, weightDecimals);
+
+        DataFormatConfiguration dataFormatConfiguration = new DataFormatConfiguration();
+        dataFormatConfiguration.setWeightDecimals(weightDecimals);
+        WeightRescaler weightRescaler = new WeightRescaler(dataFormatConfiguration);
+        solver = switch (engine) {
+            case "primitive" -> new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential());
+            case "rolling" -> new RollingCombinationSolver(weightRescaler);
+            case "vector" -> new VectorCombinationSolver(weightRescaler, ParallelRowFiller.sequential());
+            default -> throw new IllegalArgumentException("Unknown engine=" + engine);
+        };
+    }
+
+    @Benchmark
+    public Set<Integer> solve() {
+        return solver.getBestCombination(request);
+    }
+}
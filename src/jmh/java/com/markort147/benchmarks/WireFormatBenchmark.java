@@ -0,0 +1,70 @@
+package com.markort147.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.markort147.models.RequestDto;
+import com.markort147.models.ResponseDto;
+import com.markort147.testhelper.TestDataFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading the requests and writing the responses of the API in each content type, with mappers configured
+ * as the ones of the HTTP message converters. The sizes of the encoded request are reported in the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"15"})
+    public int itemCount;
+
+    private ObjectMapper objectMapper;
+    private byte[] request;
+    private ResponseDto response;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException(format);
+        };
+        request = objectMapper.writeValueAsBytes(TestDataFactory.createRandomRequest(new Random(147), itemCount, 100, 2));
+        response = new ResponseDto();
+        response.setItems(Set.of(1, 4, 7, 9, 12));
+        response.setOptimal(true);
+    }
+
+    @Benchmark
+    public RequestDto readRequest() throws IOException {
+        return objectMapper.readValue(request, RequestDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,23 @@
+package com.markort147.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the access log of the API from application properties.
+ * Maps properties with 'access-log' prefix.
+ * <p>
+ * Example properties:
+ * access-log.payload-sample-rate=0.01
+ * access-log.max-payload-length=4096
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogConfiguration {
+    private double payloadSampleRate = 0.01;
+    private int maxPayloadLength = 4096;
+}
@@ -17,6 +17,7 @@ import java.math.BigDecimal;
  * constraint.items.max-weight=100
  * constraint.items.max-price=100
  * constraint.box.max-weight=100
+ * constraint.box.max-number=100
  */
 @Getter
 @Setter
@@ -44,6 +45,7 @@ public class ConstraintsConfiguration {
     @Setter
     public static class Box {
         private BigDecimal maxWeight;
+        private int maxNumber;
     }
 
 }
@@ -0,0 +1,103 @@
+package com.markort147.configs;
+
+import com.markort147.validators.TimedValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Configures the reactive stack, active with the {@code reactive} profile ({@code spring.main.web-application-type=reactive}).
+ * <p>
+ * The requests are served by Netty, even though Tomcat is on the classpath for the servlet stack.
+ * They are processed on the {@code solverScheduler}, off the event loop: processing blocks while waiting for the
+ * admission of the request and for a thread of the {@code SolverExecutor}, so a bounded elastic scheduler is used,
+ * while the CPU-bound solves are still bounded by the pool of solver threads.
+ * <p>
+ * As in the servlet stack ({@link ValidationConfiguration}), the request bodies are validated by a {@link TimedValidator}
+ * and can be read and written as CBOR, which WebFlux does not register by default, besides JSON and Smile.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfiguration implements WebFluxConfigurer {
+
+    private final LocalValidatorFactoryBean validator;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Initializes the configuration with the validator of the application.
+     *
+     * @param validator     The validator of the application, applying the custom constraints.
+     * @param meterRegistry Registry of the validation metric.
+     */
+    @Autowired
+    public ReactiveConfiguration(LocalValidatorFactoryBean validator, MeterRegistry meterRegistry) {
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return The validator of the application, timed.
+     */
+    @Override
+    public Validator getValidator() {
+        return new TimedValidator(validator, ValidationConfiguration.validationTimer(meterRegistry));
+    }
+
+    /**
+     * Registers the CBOR decoder and encoder.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new Jackson2CborDecoder());
+        configurer.customCodecs().register(new SingleValueCborEncoder());
+    }
+
+    /**
+     * @return The factory of the Netty server.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * @param solverConfiguration Configuration of the solvers, providing the bounds of the scheduler.
+     * @return The scheduler processing the requests.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler solverScheduler(SolverConfiguration solverConfiguration) {
+        SolverConfiguration.Reactive configuration = solverConfiguration.getReactive();
+        return Schedulers.newBoundedElastic(configuration.getThreadCap(), configuration.getQueuedTaskCap(), "reactive-solver");
+    }
+
+    /**
+     * CBOR encoder writing each element of the body as a single value, since {@link Jackson2CborEncoder} supports
+     * the encoding of single values only, while the bodies of the responses are written as publishers.
+     */
+    private static final class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+}
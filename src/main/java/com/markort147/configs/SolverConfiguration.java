@@ -0,0 +1,285 @@
+package com.markort147.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+
+/**
+ * Binds solver properties from the application configuration.
+ * Properties with the 'solver' prefix are mapped to this class.
+ * <p>
+ * Example properties:
+ * solver.engine=auto
+ * solver.cost-model.factors.meet-in-the-middle=30
+ * solver.cost-model.factors.vector=0.5
+ * solver.cost-model.max-exact-cost=200000000
+ * solver.branch-and-bound.node-budget=10000000
+ * solver.branch-and-bound.time-budget=1s
+ * solver.deadline.timeout=10s
+ * solver.deadline.on-timeout=best-effort
+ * solver.deadline.retry-after=5s
+ * solver.admission.max-cells=20000000
+ * solver.admission.max-wait=2s
+ * solver.admission.retry-after=1s
+ * solver.executor.threads=4
+ * solver.reactive.thread-cap=40
+ * solver.reactive.queued-task-cap=100000
+ * solver.batch.parallelism=4
+ * solver.stream.max-in-flight=64
+ * solver.cache.maximum-size=10000
+ * solver.cache.expire-after-write=10m
+ * solver.session.time-to-live=10m
+ * solver.session.max-cells=2000000
+ * solver.session.max-total-cells=20000000
+ * solver.parallel-fill.min-columns=16384
+ * solver.parallel-fill.block-columns=4096
+ * solver.diagnostics.summaries=true
+ * solver.diagnostics.matrix-dump.sample-rate=0.001
+ * solver.diagnostics.matrix-dump.directory=/tmp/solver-dumps
+ */
+@Log4j2
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "solver")
+public class SolverConfiguration {
+    private Engine engine = Engine.AUTO;
+    private final CostModel costModel = new CostModel();
+    private final BranchAndBound branchAndBound = new BranchAndBound();
+    private final Deadline deadline = new Deadline();
+    private final Admission admission = new Admission();
+    private final Executor executor = new Executor();
+    private final Reactive reactive = new Reactive();
+    private final Batch batch = new Batch();
+    private final Stream stream = new Stream();
+    private final Cache cache = new Cache();
+    private final Session session = new Session();
+    private final ParallelFill parallelFill = new ParallelFill();
+    private final Diagnostics diagnostics = new Diagnostics();
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+        log.info("Loaded property: engine=" + engine);
+    }
+
+    /**
+     * Algorithms available to compute the best combination.
+     */
+    public enum Engine {
+        /**
+         * Cheapest exact engine according to the cost model, chosen for each request.
+         */
+        AUTO,
+        /**
+         * Matrix of combination objects, kept as reference implementation.
+         */
+        MATRIX,
+        /**
+         * Full table of primitive arrays.
+         */
+        PRIMITIVE,
+        /**
+         * Single rolling row of primitive arrays plus one bit per cell to rebuild the combination.
+         */
+        ROLLING,
+        /**
+         * Full table of packed price and weight keys, whose rows are updated with the SIMD instructions of the Vector API.
+         */
+        VECTOR,
+        /**
+         * Enumeration of the subsets of two halves of the items, independent of the capacity.
+         */
+        MEET_IN_THE_MIDDLE,
+        /**
+         * Depth-first search pruned by fractional relaxation bounds, independent of the capacity.
+         */
+        BRANCH_AND_BOUND
+    }
+
+    /**
+     * Represents the cost model used by the {@link Engine#AUTO} engine.
+     * The cost of an engine is its estimated units of work multiplied by its factor, which accounts for
+     * the different time taken by a unit of each engine (e.g. a cell of a table or a subset of items).
+     * When no exact engine costs less than {@code maxExactCost}, the request is solved by branch-and-bound.
+     */
+    @Getter
+    @Setter
+    public static class CostModel {
+        private Map<Engine, Double> factors = new EnumMap<>(Map.of(
+                Engine.MATRIX, 50.0,
+                Engine.PRIMITIVE, 1.5,
+                Engine.ROLLING, 1.0,
+                Engine.MEET_IN_THE_MIDDLE, 30.0));
+        private double maxExactCost = 200_000_000;
+    }
+
+    /**
+     * Represents the budgets of a branch-and-bound search.
+     * When one of them is exhausted, the best combination found so far is returned as not optimal.
+     */
+    @Getter
+    @Setter
+    public static class BranchAndBound {
+        private long nodeBudget = 10_000_000;
+        private Duration timeBudget = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Represents the deadline of the solves, counted from the start of the processing of a request.
+     * The dynamic programming engines and the branch-and-bound engine stop at the deadline; the others complete
+     * their solve. What a stopped solve returns is set by {@code onTimeout}. A zero timeout disables the deadline.
+     */
+    @Getter
+    @Setter
+    public static class Deadline {
+        private Duration timeout = Duration.ofSeconds(10);
+        private OnTimeout onTimeout = OnTimeout.BEST_EFFORT;
+        private Duration retryAfter = Duration.ofSeconds(5);
+
+        /**
+         * Outcomes of a request whose solve has been stopped at the deadline.
+         */
+        public enum OnTimeout {
+            /**
+             * The best combination found so far, flagged as not optimal.
+             */
+            BEST_EFFORT,
+            /**
+             * A 503 Service Unavailable response, with a Retry-After of {@code retryAfter}.
+             */
+            REJECT
+        }
+    }
+
+    /**
+     * Represents the work budget of the requests being solved, in cells of dynamic programming table.
+     * A request exceeding the remaining budget waits up to {@code maxWait} for it to have room, then it is rejected
+     * with 429 Too Many Requests and a Retry-After of {@code retryAfter}.
+     */
+    @Getter
+    @Setter
+    public static class Admission {
+        private boolean enabled = true;
+        private int maxCells = 20_000_000;
+        private Duration maxWait = Duration.ofSeconds(2);
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Represents the settings of the pool of solver threads.
+     * When {@code enabled}, solves run on a pool of {@code threads} platform threads, by default one per available
+     * processor, while the threads serving the requests wait for them. Otherwise solves run on the threads serving
+     * the requests.
+     */
+    @Getter
+    @Setter
+    public static class Executor {
+        private boolean enabled = true;
+        private int threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Represents the settings of the scheduler of the reactive stack, active with the {@code reactive} profile.
+     * Requests are processed on at most {@code threadCap} threads, by default ten per available processor, and at most
+     * {@code queuedTaskCap} requests wait for one of them; further requests are rejected.
+     */
+    @Getter
+    @Setter
+    public static class Reactive {
+        private int threadCap = 10 * Runtime.getRuntime().availableProcessors();
+        private int queuedTaskCap = 100_000;
+    }
+
+    /**
+     * Represents the settings of the batch endpoint.
+     * The entries of a batch are solved in parallel by a pool of {@code parallelism} threads,
+     * by default one per available processor.
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Represents the settings of the streaming endpoint.
+     * At most {@code maxInFlight} requests of a stream are being solved at the same time: the stream is not read
+     * further until one of them completes, so the memory used does not depend on the length of the stream.
+     */
+    @Getter
+    @Setter
+    public static class Stream {
+        private int maxInFlight = 64;
+    }
+
+    /**
+     * Represents the settings of the cache of the best combinations.
+     * Entries are evicted when the cache holds more than {@code maximumSize} of them
+     * or {@code expireAfterWrite} after being stored.
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Represents the limits of the sessions keeping solved tables between requests.
+     * A session expires {@code timeToLive} after its last use and cannot grow beyond {@code maxCells} cells
+     * (about twelve bytes each). When all the sessions together exceed {@code maxTotalCells} cells,
+     * the least recently used ones are evicted.
+     */
+    @Getter
+    @Setter
+    public static class Session {
+        private Duration timeToLive = Duration.ofMinutes(10);
+        private long maxCells = 2_000_000;
+        private long maxTotalCells = 20_000_000;
+    }
+
+    /**
+     * Represents the settings of the parallel fill of the rows of the dynamic programming tables.
+     * Rows with at least {@code minColumns} columns are split into blocks of {@code blockColumns} columns
+     * filled in parallel; narrower rows are filled by a single thread.
+     */
+    @Getter
+    @Setter
+    public static class ParallelFill {
+        private boolean enabled = true;
+        private int minColumns = 16_384;
+        private int blockColumns = 4_096;
+    }
+
+    /**
+     * Represents the settings of the diagnostics of the solves.
+     * With {@code summaries}, a summary event is logged for every solve. Matrices of the matrix engine can be dumped
+     * to files, for a fraction {@code sampleRate} of its solves or on demand through the {@code matrixdump}
+     * actuator endpoint; matrices with more than {@code maxCells} cells are not dumped.
+     */
+    @Getter
+    @Setter
+    public static class Diagnostics {
+        private boolean summaries = true;
+        private final MatrixDump matrixDump = new MatrixDump();
+
+        /**
+         * Represents the settings of the dumps of the matrices.
+         */
+        @Getter
+        @Setter
+        public static class MatrixDump {
+            private double sampleRate = 0;
+            private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "solver-dumps");
+            private long maxCells = 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.markort147.configs;
+
+import com.markort147.validators.TimedValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configures the validation of the request bodies annotated with {@code @Valid} and of the constrained parameters.
+ * The validator of the application is wrapped in a {@link TimedValidator}, so that the duration of the validations
+ * is recorded by the {@code request.validation} metric. The reactive stack is configured alike by the {@link ReactiveConfiguration}.
+ */
+@Configuration
+public class ValidationConfiguration implements WebMvcConfigurer {
+
+    /**
+     * Name of the timer of the validations, also recorded by the services validating the entries of batches and streams.
+     */
+    public static final String VALIDATION_TIMER = "request.validation";
+
+    private final LocalValidatorFactoryBean validator;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Initializes the configuration with the validator of the application.
+     *
+     * @param validator     The validator of the application, applying the custom constraints.
+     * @param meterRegistry Registry of the validation metric.
+     */
+    @Autowired
+    public ValidationConfiguration(LocalValidatorFactoryBean validator, MeterRegistry meterRegistry) {
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return The validator of the application, timed.
+     */
+    @Override
+    public Validator getValidator() {
+        return new TimedValidator(validator, validationTimer(meterRegistry));
+    }
+
+    /**
+     * @param meterRegistry The registry of the timer.
+     * @return The timer of the validations.
+     */
+    public static Timer validationTimer(MeterRegistry meterRegistry) {
+        return Timer.builder(VALIDATION_TIMER)
+                .description("Duration of the validations of the requests")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,181 @@
+package com.markort147.controllers;
+
+import com.markort147.configs.AccessLogConfiguration;
+import com.markort147.services.SolverDiagnostics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.message.MapMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes an access event for each request to the API on the asynchronous logger {@code access}, laid out as
+ * one JSON object per line: method, path, status and duration of the request, together with the solve fields
+ * added to the {@link ThreadContext} by the {@link SolverDiagnostics}.
+ * <p>
+ * The bodies of the request and of the response are added, up to {@code access-log.max-payload-length} characters,
+ * only for a fraction {@code access-log.payload-sample-rate} of the requests, so that the cost of the access log
+ * does not depend on the size of the payloads. Streams are never sampled, since their bodies would be buffered.
+ * The body of a sampled asynchronous response is written when the request is dispatched back after its completion.
+ */
+@Log4j2(topic = "access")
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final double payloadSampleRate;
+    private final int maxPayloadLength;
+    private final AtomicLong requestIds = new AtomicLong();
+
+    /**
+     * Initializes the filter with the configured sampling of the payloads.
+     *
+     * @param accessLogConfiguration Configuration of the access log.
+     */
+    @Autowired
+    public AccessLogFilter(AccessLogConfiguration accessLogConfiguration) {
+        this.payloadSampleRate = accessLogConfiguration.getPayloadSampleRate();
+        this.maxPayloadLength = accessLogConfiguration.getMaxPayloadLength();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || !log.isInfoEnabled();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            doFilterAsyncDispatch(request, response, filterChain);
+            return;
+        }
+        long start = System.nanoTime();
+        ThreadContext.put(SolverDiagnostics.REQUEST_ID, Long.toString(requestIds.incrementAndGet()));
+        boolean sampled = isSampled(request);
+        ContentCachingRequestWrapper cachingRequest = sampled ? new ContentCachingRequestWrapper(request, maxPayloadLength) : null;
+        ContentCachingResponseWrapper cachingResponse = sampled ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(sampled ? cachingRequest : request, sampled ? cachingResponse : response);
+        } finally {
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(new AccessLogListener(request, ThreadContext.getImmutableContext(), start));
+            } else {
+                MapMessage<?, Object> event = accessEvent(request, response.getStatus(), start);
+                if (sampled) {
+                    event.with("request", truncate(cachingRequest.getContentAsString()));
+                    event.with("response", truncate(new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8)));
+                    cachingResponse.copyBodyToResponse();
+                }
+                log.info(event);
+            }
+            ThreadContext.clearMap();
+        }
+    }
+
+    /**
+     * Writes the cached body of a sampled response once its asynchronous processing is complete,
+     * since the response wrapped by the initial dispatch is the one the result was written to.
+     */
+    private void doFilterAsyncDispatch(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContentCachingResponseWrapper cachingResponse = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (cachingResponse != null && !isAsyncStarted(request)) {
+                cachingResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private boolean isSampled(HttpServletRequest request) {
+        return payloadSampleRate > 0
+                && !isStream(request)
+                && ThreadLocalRandom.current().nextDouble() < payloadSampleRate;
+    }
+
+    private static boolean isStream(HttpServletRequest request) {
+        if (request.getContentType() == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_NDJSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private String truncate(String payload) {
+        return payload.length() > maxPayloadLength ? payload.substring(0, maxPayloadLength) : payload;
+    }
+
+    private static MapMessage<?, Object> accessEvent(HttpServletRequest request, int status, long start) {
+        return new MapMessage<>()
+                .with("method", request.getMethod())
+                .with("path", request.getRequestURI())
+                .with("status", status)
+                .with("durationMicros", TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    }
+
+    /**
+     * Writes the access event of an asynchronous request, e.g. a stream, when its response is complete.
+     */
+    private static final class AccessLogListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final Map<String, String> context;
+        private final long start;
+
+        private AccessLogListener(HttpServletRequest request, Map<String, String> context, long start) {
+            this.request = request;
+            this.context = context;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            ThreadContext.putAll(context);
+            try {
+                log.info(accessEvent(request, ((HttpServletResponse) event.getSuppliedResponse()).getStatus(), start));
+            } finally {
+                ThreadContext.clearMap();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -1,36 +1,67 @@
 package com.markort147.controllers;
 
+import com.markort147.models.BatchResultDto;
+import com.markort147.models.MultiCapacityRequestDto;
+import com.markort147.models.MultiCapacityResponseDto;
 import com.markort147.models.RequestDto;
 import com.markort147.models.ResponseDto;
 import jakarta.validation.Valid;
-import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.markort147.services.BatchCombinationService;
 import com.markort147.services.BestCombinationService;
+import com.markort147.services.MultiCapacityCombinationService;
+import com.markort147.services.StreamCombinationService;
+
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * Controller class for handling API requests related to calculating the best combination of items.
- * It delegates the business logic to the BestCombinationService.
+ * It delegates the business logic to the BestCombinationService, to the BatchCombinationService for batches,
+ * to the StreamCombinationService for streams and to the MultiCapacityCombinationService for several boxes.
+ * Requests and responses are logged by the {@link AccessLogFilter}.
+ * <p>
+ * Besides JSON, the single request endpoint reads and writes CBOR and Smile, chosen by the Content-Type and Accept
+ * headers; responses are JSON unless another type is accepted.
  */
-@Log4j2
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/best-combination")
 public class BestCombinationController {
 
+    /**
+     * Media type of the Smile binary encoding of JSON.
+     */
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     private final BestCombinationService bestCombinationService;
+    private final BatchCombinationService batchCombinationService;
+    private final StreamCombinationService streamCombinationService;
+    private final MultiCapacityCombinationService multiCapacityCombinationService;
 
     /**
-     * Initializes the controller with the required service dependency.
+     * Initializes the controller with the required service dependencies.
      *
-     * @param bestCombinationService Service responsible for calculating the best combination.
+     * @param bestCombinationService          Service responsible for calculating the best combination.
+     * @param batchCombinationService         Service responsible for calculating the best combinations of a batch.
+     * @param streamCombinationService        Service responsible for calculating the best combinations of a stream.
+     * @param multiCapacityCombinationService Service responsible for calculating the best combinations for several boxes.
      */
     @Autowired
-    BestCombinationController(BestCombinationService bestCombinationService) {
+    BestCombinationController(BestCombinationService bestCombinationService, BatchCombinationService batchCombinationService, StreamCombinationService streamCombinationService,
+                              MultiCapacityCombinationService multiCapacityCombinationService) {
         this.bestCombinationService = bestCombinationService;
+        this.batchCombinationService = batchCombinationService;
+        this.streamCombinationService = streamCombinationService;
+        this.multiCapacityCombinationService = multiCapacityCombinationService;
     }
 
     /**
@@ -40,12 +71,51 @@ public class BestCombinationController {
      * @param request Request containing the items and parameters for the combination calculation.
      * @return ResponseEntity with the calculated response.
      */
-    @PostMapping
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
     public ResponseEntity<ResponseDto> bestCombinationPost(@RequestBody @Valid RequestDto request) {
-        log.info("BestCombinationController.bestCombinationPost() /api/best-combination POST. request=" + request);
         ResponseDto response = bestCombinationService.process(request);
-        log.info("BestCombinationController.bestCombinationPost() /api/best-combination POST. response=" + response);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Endpoint to handle POST requests for the best combinations of a batch of requests.
+     * Each request is validated on its own, so an invalid request gets an error in its result
+     * while the others are solved.
+     *
+     * @param requests Requests containing the items and parameters for the combination calculations.
+     * @return ResponseEntity with the results, in the same order of the requests.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDto>> bestCombinationBatchPost(@RequestBody List<RequestDto> requests) {
+        List<BatchResultDto> results = batchCombinationService.process(requests);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Endpoint to handle POST requests for the best combinations of a stream of newline-delimited JSON requests.
+     * The requests are read while the results are written, one per line in order of completion,
+     * so neither the requests nor the results are buffered as a whole.
+     *
+     * @param requests Stream of requests, each one with an identifier echoed back in its result.
+     * @return ResponseEntity with the stream of results.
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> bestCombinationStreamPost(InputStream requests) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> streamCombinationService.process(requests, output));
+    }
+
+    /**
+     * Endpoint to handle POST requests for the best combinations of one item list for several boxes.
+     * Validates the incoming request and returns the optimal combination for each box.
+     *
+     * @param request Request containing the items and the maximum weights of the boxes.
+     * @return ResponseEntity with the best combinations, in the same order of the maximum weights.
+     */
+    @PostMapping("/multi-capacity")
+    public ResponseEntity<List<MultiCapacityResponseDto>> bestCombinationMultiCapacityPost(@RequestBody @Valid MultiCapacityRequestDto request) {
+        return ResponseEntity.ok(multiCapacityCombinationService.process(request));
+    }
+
 }
@@ -1,23 +1,52 @@
 package com.markort147.controllers;
 
+import com.markort147.services.AdmissionRejectedException;
+import com.markort147.services.InvalidSessionOperationException;
+import com.markort147.services.SessionNotFoundException;
+import com.markort147.services.SolveTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.validation.method.ParameterValidationResult;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
 /**
  * Global exception handler for the application.
  * <p>
- * This controller advice handles specific exceptions and returns appropriate HTTP responses.
+ * This controller advice handles specific exceptions and returns appropriate HTTP responses,
+ * both in the servlet and in the reactive stack.
+ * Error messages are plain text, even when the request accepts the response as CBOR or Smile.
+ * Every handled exception is counted by the {@code api.errors} metric, tagged with its type and the response status.
  */
 @ControllerAdvice
 @Log4j2
 public class ExceptionHandlingControllerAdvice {
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Initializes the advice with the registry of the error metric.
+     *
+     * @param meterRegistry Registry of the error metric.
+     */
+    @Autowired
+    public ExceptionHandlingControllerAdvice(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Handles MethodArgumentNotValidException by returning a 400 Bad Request response.
      * Those exceptions are returned by simple json validation made by javax annotations in RequestDTO and ItemDTO classes.
@@ -30,11 +59,165 @@ public class ExceptionHandlingControllerAdvice {
     @ResponseBody
     public ResponseEntity<String> handleMethodArgumentNotValidExceptions(MethodArgumentNotValidException methodArgumentNotValidException) {
         log.error("MethodArgumentNotValidException caught: ", methodArgumentNotValidException);
+        countError(methodArgumentNotValidException, HttpStatus.BAD_REQUEST);
         return ResponseEntity
                 .badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
                 .body("Argument " + methodArgumentNotValidException.getFieldError().getField() + " not valid: " + methodArgumentNotValidException.getFieldError().getDefaultMessage());
     }
 
+    /**
+     * Handles WebExchangeBindException by returning a 400 Bad Request response.
+     * Those exceptions are the counterpart of MethodArgumentNotValidException in the reactive stack.
+     *
+     * @param webExchangeBindException The exception that was thrown.
+     * @return A response entity containing the exception message and a BAD_REQUEST status.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ResponseEntity<String> handleWebExchangeBindExceptions(WebExchangeBindException webExchangeBindException) {
+        log.error("WebExchangeBindException caught: ", webExchangeBindException);
+        countError(webExchangeBindException, HttpStatus.BAD_REQUEST);
+        return ResponseEntity
+                .badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Argument " + webExchangeBindException.getFieldError().getField() + " not valid: " + webExchangeBindException.getFieldError().getDefaultMessage());
+    }
+
+    /**
+     * Handles HandlerMethodValidationException by returning a 400 Bad Request response.
+     * Those exceptions are thrown by the validation of the parameters of a request, e.g. a query parameter.
+     *
+     * @param handlerMethodValidationException The exception that was thrown.
+     * @return A response entity containing the exception message and a BAD_REQUEST status.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ResponseEntity<String> handleHandlerMethodValidationExceptions(HandlerMethodValidationException handlerMethodValidationException) {
+        log.error("HandlerMethodValidationException caught: ", handlerMethodValidationException);
+        countError(handlerMethodValidationException, HttpStatus.BAD_REQUEST);
+        ParameterValidationResult result = handlerMethodValidationException.getAllValidationResults().get(0);
+        return ResponseEntity
+                .badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Argument " + result.getMethodParameter().getParameterName() + " not valid: " + result.getResolvableErrors().get(0).getDefaultMessage());
+    }
+
+    /**
+     * Handles HttpMessageNotReadableException by returning a 400 Bad Request response.
+     * Those exceptions are thrown for a body that cannot be read, e.g. malformed JSON, and are answered as their
+     * counterpart in the reactive stack, a ServerWebInputException.
+     *
+     * @param httpMessageNotReadableException The exception that was thrown.
+     * @return A response entity containing the exception message and a BAD_REQUEST status.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ResponseEntity<String> handleHttpMessageNotReadableExceptions(HttpMessageNotReadableException httpMessageNotReadableException) {
+        log.warn("HttpMessageNotReadableException caught: " + httpMessageNotReadableException.getMessage());
+        countError(httpMessageNotReadableException, HttpStatus.BAD_REQUEST);
+        return ResponseEntity
+                .badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Failed to read HTTP message");
+    }
+
+    /**
+     * Handles SessionNotFoundException by returning a 404 Not Found response.
+     *
+     * @param sessionNotFoundException The exception that was thrown.
+     * @return A response entity containing the exception message and a NOT_FOUND status.
+     */
+    @ExceptionHandler(SessionNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ResponseBody
+    public ResponseEntity<String> handleSessionNotFoundExceptions(SessionNotFoundException sessionNotFoundException) {
+        log.warn("SessionNotFoundException caught: " + sessionNotFoundException.getMessage());
+        countError(sessionNotFoundException, HttpStatus.NOT_FOUND);
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(sessionNotFoundException.getMessage());
+    }
+
+    /**
+     * Handles InvalidSessionOperationException by returning a 400 Bad Request response.
+     *
+     * @param invalidSessionOperationException The exception that was thrown.
+     * @return A response entity containing the exception message and a BAD_REQUEST status.
+     */
+    @ExceptionHandler(InvalidSessionOperationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ResponseEntity<String> handleInvalidSessionOperationExceptions(InvalidSessionOperationException invalidSessionOperationException) {
+        log.warn("InvalidSessionOperationException caught: " + invalidSessionOperationException.getMessage());
+        countError(invalidSessionOperationException, HttpStatus.BAD_REQUEST);
+        return ResponseEntity
+                .badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(invalidSessionOperationException.getMessage());
+    }
+
+    /**
+     * Handles SolveTimeoutException by returning a 503 Service Unavailable response, with the configured Retry-After in seconds.
+     *
+     * @param solveTimeoutException The exception that was thrown.
+     * @return A response entity containing the exception message and a SERVICE_UNAVAILABLE status.
+     */
+    @ExceptionHandler(SolveTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public ResponseEntity<String> handleSolveTimeoutExceptions(SolveTimeoutException solveTimeoutException) {
+        log.warn("SolveTimeoutException caught: " + solveTimeoutException.getMessage());
+        countError(solveTimeoutException, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, solveTimeoutException.getRetryAfter().toSeconds())))
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(solveTimeoutException.getMessage());
+    }
+
+    /**
+     * Handles AdmissionRejectedException by returning a 429 Too Many Requests response, with the configured Retry-After in seconds.
+     *
+     * @param admissionRejectedException The exception that was thrown.
+     * @return A response entity containing the exception message and a TOO_MANY_REQUESTS status.
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ResponseBody
+    public ResponseEntity<String> handleAdmissionRejectedExceptions(AdmissionRejectedException admissionRejectedException) {
+        log.warn("AdmissionRejectedException caught: " + admissionRejectedException.getMessage());
+        countError(admissionRejectedException, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, admissionRejectedException.getRetryAfter().toSeconds())))
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(admissionRejectedException.getMessage());
+    }
+
+    /**
+     * Handles ResponseStatusException by returning a response with its status, e.g. 415 Unsupported Media Type
+     * for a content type without decoder in the reactive stack.
+     *
+     * @param responseStatusException The exception that was thrown.
+     * @return A response entity containing the reason of the exception and its status.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    @ResponseBody
+    public ResponseEntity<String> handleResponseStatusExceptions(ResponseStatusException responseStatusException) {
+        log.warn("ResponseStatusException caught: " + responseStatusException.getMessage());
+        HttpStatus status = HttpStatus.valueOf(responseStatusException.getStatusCode().value());
+        countError(responseStatusException, status);
+        return ResponseEntity
+                .status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(responseStatusException.getReason());
+    }
+
     /**
      * Handles general RuntimeExceptions by returning a 500 Internal Server Error response.
      *
@@ -46,9 +229,20 @@ public class ExceptionHandlingControllerAdvice {
     @ResponseBody
     public ResponseEntity<String> handleRuntimeExceptionException(RuntimeException runtimeException) {
         log.error("RuntimeException caught: ", runtimeException);
+        countError(runtimeException, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .header("error_details", runtimeException.getMessage())
+                .contentType(MediaType.TEXT_PLAIN)
                 .body(runtimeException.getMessage());
     }
+
+    private void countError(Exception exception, HttpStatus status) {
+        Counter.builder("api.errors")
+                .description("Errors returned by the API")
+                .tag("exception", exception.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
 }
@@ -0,0 +1,57 @@
+package com.markort147.controllers;
+
+import com.markort147.services.SolverDiagnostics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint requesting dumps of the matrices of the next solves, exposed at {@code /actuator/matrixdump}.
+ * <ul>
+ *     <li>{@code GET} returns the number of dumps still requested, the sample rate and the directory of the dumps;</li>
+ *     <li>{@code POST} with body {@code {"count": n}} requests {@code n} more dumps, up to
+ *     {@value SolverDiagnostics#MAX_REQUESTED_MATRIX_DUMPS} dumps still requested.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "matrixdump")
+public class MatrixDumpEndpoint {
+
+    private final SolverDiagnostics solverDiagnostics;
+
+    /**
+     * Initializes the endpoint with necessary dependencies.
+     *
+     * @param solverDiagnostics Service dumping the matrices.
+     */
+    @Autowired
+    public MatrixDumpEndpoint(SolverDiagnostics solverDiagnostics) {
+        this.solverDiagnostics = solverDiagnostics;
+    }
+
+    /**
+     * @return The state of the dumps.
+     */
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("requested", solverDiagnostics.getRequestedMatrixDumps(),
+                "sampleRate", solverDiagnostics.getMatrixDumpSettings().getSampleRate(),
+                "directory", solverDiagnostics.getMatrixDumpSettings().getDirectory().toString());
+    }
+
+    /**
+     * Requests the matrices of the next solves to be dumped.
+     *
+     * @param count The number of matrices to dump.
+     * @return The state of the dumps.
+     */
+    @WriteOperation
+    public Map<String, Object> request(int count) {
+        solverDiagnostics.requestMatrixDumps(count);
+        return status();
+    }
+}
@@ -0,0 +1,59 @@
+package com.markort147.controllers;
+
+import com.markort147.models.RequestDto;
+import com.markort147.models.ResponseDto;
+import com.markort147.services.BestCombinationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Reactive controller handling the requests for the best combination of items, active with the {@code reactive} profile
+ * in place of the {@link BestCombinationController}, with the same request, response, content types, validation and errors.
+ * The request is decoded and validated on the event loop, then processed by the BestCombinationService on the
+ * {@code solverScheduler}, so that the event loop is never blocked.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/best-combination")
+public class ReactiveBestCombinationController {
+
+    private final BestCombinationService bestCombinationService;
+    private final Scheduler solverScheduler;
+
+    /**
+     * Initializes the controller with the required dependencies.
+     *
+     * @param bestCombinationService Service responsible for calculating the best combination.
+     * @param solverScheduler        Scheduler processing the requests off the event loop.
+     */
+    @Autowired
+    ReactiveBestCombinationController(BestCombinationService bestCombinationService, @Qualifier("solverScheduler") Scheduler solverScheduler) {
+        this.bestCombinationService = bestCombinationService;
+        this.solverScheduler = solverScheduler;
+    }
+
+    /**
+     * Endpoint to handle POST requests for the best combination calculation.
+     * Validates the incoming request and returns the optimal combination.
+     *
+     * @param request Request containing the items and parameters for the combination calculation.
+     * @return A Mono of the ResponseEntity with the calculated response.
+     */
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BestCombinationController.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ResponseDto>> bestCombinationPost(@RequestBody @Valid Mono<RequestDto> request) {
+        return request
+                .publishOn(solverScheduler)
+                .map(bestCombinationService::process)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,126 @@
+package com.markort147.controllers;
+
+import com.markort147.models.ItemsDto;
+import com.markort147.models.RequestDto;
+import com.markort147.models.ResponseDto;
+import com.markort147.models.SessionResponseDto;
+import com.markort147.services.SessionService;
+import com.markort147.validators.ValidBoxWeight;
+import jakarta.validation.Valid;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+
+/**
+ * Controller class for handling API requests related to sessions, which keep the solved state of an item list
+ * to answer its following changes incrementally.
+ * It delegates the business logic to the SessionService.
+ * Only the identifiers and sizes are logged here; requests and responses are logged by the {@link AccessLogFilter}.
+ */
+@Log4j2
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/sessions")
+public class SessionController {
+
+    private final SessionService sessionService;
+
+    /**
+     * Initializes the controller with the required service dependency.
+     *
+     * @param sessionService Service responsible for the sessions.
+     */
+    @Autowired
+    SessionController(SessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    /**
+     * Endpoint to create a session from a request.
+     *
+     * @param request Request containing the items and the capacity of the session.
+     * @return ResponseEntity with the best combination and the identifier of the session.
+     */
+    @PostMapping
+    public ResponseEntity<SessionResponseDto> sessionPost(@RequestBody @Valid RequestDto request) {
+        log.info("SessionController.sessionPost() /api/sessions POST. items=" + request.getItems().size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(sessionService.create(request));
+    }
+
+    /**
+     * Endpoint to append items to a session.
+     *
+     * @param sessionId Identifier of the session.
+     * @param items     Items to append.
+     * @return ResponseEntity with the best combination of all the items of the session.
+     */
+    @PostMapping("/{sessionId}/items")
+    public ResponseEntity<ResponseDto> sessionItemsPost(@PathVariable String sessionId, @RequestBody @Valid ItemsDto items) {
+        log.info("SessionController.sessionItemsPost() /api/sessions/" + sessionId + "/items POST. items=" + items.getItems().size());
+        return ResponseEntity.ok(sessionService.append(sessionId, items.getItems()));
+    }
+
+    /**
+     * Endpoint to remove an item from a session.
+     *
+     * @param sessionId Identifier of the session.
+     * @param itemId    Identifier of the item to remove.
+     * @return ResponseEntity with the best combination of the remaining items of the session.
+     */
+    @DeleteMapping("/{sessionId}/items/{itemId}")
+    public ResponseEntity<ResponseDto> sessionItemDelete(@PathVariable String sessionId, @PathVariable int itemId) {
+        log.info("SessionController.sessionItemDelete() /api/sessions/" + sessionId + "/items/" + itemId + " DELETE.");
+        return ResponseEntity.ok(sessionService.remove(sessionId, itemId));
+    }
+
+    /**
+     * Endpoint to get the best combination of the items of a session for its capacity.
+     *
+     * @param sessionId Identifier of the session.
+     * @return ResponseEntity with the best combination for the capacity of the session.
+     */
+    @GetMapping(value = "/{sessionId}/best-combination", params = "!max_weight")
+    public ResponseEntity<ResponseDto> sessionBestCombinationGet(@PathVariable String sessionId) {
+        log.info("SessionController.sessionBestCombinationGet() /api/sessions/" + sessionId + "/best-combination GET.");
+        return ResponseEntity.ok(sessionService.getBestCombination(sessionId));
+    }
+
+    /**
+     * Endpoint to get the best combination of the items of a session for a capacity up to the one of the session.
+     * The capacity is validated as the one of a request.
+     *
+     * @param sessionId Identifier of the session.
+     * @param maxWeight Capacity of the box.
+     * @return ResponseEntity with the best combination for the capacity.
+     */
+    @GetMapping(value = "/{sessionId}/best-combination", params = "max_weight")
+    public ResponseEntity<ResponseDto> sessionBestCombinationGet(@PathVariable String sessionId, @RequestParam(name = "max_weight") @ValidBoxWeight BigDecimal maxWeight) {
+        log.info("SessionController.sessionBestCombinationGet() /api/sessions/" + sessionId + "/best-combination GET. maxWeight=" + maxWeight);
+        return ResponseEntity.ok(sessionService.getBestCombination(sessionId, maxWeight));
+    }
+
+    /**
+     * Endpoint to delete a session.
+     *
+     * @param sessionId Identifier of the session.
+     * @return ResponseEntity without content.
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> sessionDelete(@PathVariable String sessionId) {
+        log.info("SessionController.sessionDelete() /api/sessions/" + sessionId + " DELETE.");
+        sessionService.delete(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.markort147.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents the result of one entry of a batch request.
+ * Exactly one of the response and the error is set.
+ */
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDto {
+    /**
+     * The best combination of the entry, when it is valid and has been solved.
+     */
+    private ResponseDto response;
+
+    /**
+     * The reason why the entry has not been solved, e.g. a validation error.
+     */
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.markort147.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing items to be added to a session.
+ */
+@Getter
+@Setter
+public class ItemsDto {
+    @JsonProperty("items")
+    @NotNull
+    private List<@Valid @NotNull ItemDto> items;
+}
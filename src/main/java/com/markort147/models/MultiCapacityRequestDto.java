@@ -0,0 +1,29 @@
+package com.markort147.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.markort147.validators.ValidBoxWeight;
+import com.markort147.validators.ValidBoxWeightsList;
+import com.markort147.validators.ValidItemsList;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Data Transfer Object representing a request containing items and the maximum weights of several boxes.
+ */
+@Getter
+@Setter
+public class MultiCapacityRequestDto {
+    @JsonProperty("max_weights")
+    @ValidBoxWeightsList
+    private List<@ValidBoxWeight BigDecimal> maxWeights;
+
+    @JsonProperty("items")
+    @NotNull
+    @ValidItemsList
+    private List<@Valid ItemDto> items;
+}
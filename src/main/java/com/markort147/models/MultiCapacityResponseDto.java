@@ -0,0 +1,22 @@
+package com.markort147.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the best combination of items for one of the boxes of a multi-capacity request.
+ */
+@Setter
+@Getter
+@JsonPropertyOrder({"max_weight", "items", "optimal"})
+public class MultiCapacityResponseDto extends ResponseDto {
+    /**
+     * The maximum weight of the box.
+     */
+    @JsonProperty("max_weight")
+    private BigDecimal maxWeight;
+}
@@ -16,4 +16,10 @@ public class ResponseDto {
      * The set of item IDs that represent the best combination.
      */
     private Set<Integer> items;
+
+    /**
+     * Whether the combination is proven to be the best one.
+     * It is false only when the solver stopped before completing the search.
+     */
+    private boolean optimal;
 }
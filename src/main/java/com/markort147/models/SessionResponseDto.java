@@ -0,0 +1,19 @@
+package com.markort147.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents the response to the creation of a session: the best combination of its items
+ * and the identifier to use in the following requests of the session.
+ */
+@Setter
+@Getter
+public class SessionResponseDto extends ResponseDto {
+    /**
+     * The identifier of the session.
+     */
+    @JsonProperty("session_id")
+    private String sessionId;
+}
@@ -0,0 +1,16 @@
+package com.markort147.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object representing a request of a stream, i.e. a request with an identifier
+ * echoed back in its result, since the results of a stream are written in order of completion.
+ */
+@Getter
+@Setter
+public class StreamRequestDto extends RequestDto {
+    @JsonProperty("id")
+    private String id;
+}
@@ -0,0 +1,19 @@
+package com.markort147.models;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents the result of one request of a stream, carrying the identifier of the request.
+ * The identifier is missing when the request could not be read.
+ */
+@Setter
+@Getter
+@JsonPropertyOrder({"id", "response", "error"})
+public class StreamResultDto extends BatchResultDto {
+    /**
+     * The identifier of the request.
+     */
+    private String id;
+}
@@ -0,0 +1,119 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits the requests to the solvers within a global work budget.
+ * The cost of a request is the memory held by the solver it has been dispatched to, in cells of dynamic programming
+ * table, see {@link CombinationSolver#estimateCells}. For the solvers filling a whole table, it is the number of items
+ * times the capacity rescaled by the decimals of the weights: ten such requests of 15 items and capacity 100
+ * with 2 decimals cost 1.5 million cells, while ten requests of 5 items and capacity 10 without decimals cost 500.
+ * The rolling solver keeps a single row, the meet-in-the-middle solver the subsets of the items and the
+ * branch-and-bound solver a few arrays of items, so they are charged much less for the same request.
+ * <p>
+ * The requests being solved can cost at most {@code solver.admission.max-cells} together. A request exceeding the
+ * remaining budget waits, in arrival order, up to {@code solver.admission.max-wait}; then it is rejected with an
+ * {@link AdmissionRejectedException}. A request costing more than the whole budget is charged the whole budget,
+ * so that it is solved alone.
+ * <p>
+ * The cells in use, the waits and the rejections are recorded by the {@code solver.admission.*} metrics.
+ */
+@Log4j2
+@Service
+public class AdmissionController {
+
+    /**
+     * Represents the admission of a request, releasing its cells when closed.
+     */
+    public static final class Admission implements AutoCloseable {
+
+        private final Semaphore budget;
+        private final int charged;
+        @Getter
+        private final long cells;
+
+        private Admission(Semaphore budget, int charged, long cells) {
+            this.budget = budget;
+            this.charged = charged;
+            this.cells = cells;
+        }
+
+        @Override
+        public void close() {
+            if (budget != null) budget.release(charged);
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxCells;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final Semaphore budget;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Initializes the controller with the configured budget and registers its metrics.
+     *
+     * @param solverConfiguration Configuration of the solvers, providing the settings of the admission.
+     * @param meterRegistry       Registry of the admission metrics.
+     */
+    @Autowired
+    public AdmissionController(SolverConfiguration solverConfiguration, MeterRegistry meterRegistry) {
+        SolverConfiguration.Admission configuration = solverConfiguration.getAdmission();
+        this.enabled = configuration.isEnabled();
+        this.maxCells = Math.max(1, configuration.getMaxCells());
+        this.maxWait = configuration.getMaxWait();
+        this.retryAfter = configuration.getRetryAfter();
+        this.budget = new Semaphore(maxCells, true);
+        Gauge.builder("solver.admission.cells", budget, semaphore -> maxCells - semaphore.availablePermits())
+                .description("Cells of the requests being solved")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("solver.admission.wait")
+                .description("Time waited by the requests before being admitted")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("solver.admission.rejected")
+                .description("Requests rejected after waiting for the maximum time")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a request, waiting for the budget to have room for it if needed.
+     * The returned admission must be closed when the request has been solved.
+     *
+     * @param cells The cells held by the solve of the request.
+     * @return The admission of the request.
+     * @throws AdmissionRejectedException If the budget has not had room for the request within the maximum wait.
+     */
+    public Admission admit(long cells) {
+        if (!enabled) return new Admission(null, 0, cells);
+        int charged = (int) Math.max(1, Math.min(cells, maxCells));
+        long start = System.nanoTime();
+        boolean admitted;
+        try {
+            admitted = budget.tryAcquire(charged, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!admitted) {
+            rejectedCounter.increment();
+            log.warn("AdmissionController.admit(). Request rejected. cells=" + cells + ", cellsInUse=" + (maxCells - budget.availablePermits()));
+            throw new AdmissionRejectedException(cells, maxWait, retryAfter);
+        }
+        return new Admission(budget, charged, cells);
+    }
+}
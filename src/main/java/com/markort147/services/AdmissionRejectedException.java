@@ -0,0 +1,20 @@
+package com.markort147.services;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request has not been admitted to the solvers within the maximum wait, because the requests
+ * being solved already use the whole work budget.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(long cells, Duration maxWait, Duration retryAfter) {
+        super("Request of " + cells + " cells not admitted within " + maxWait.toMillis() + " ms: solvers are busy.");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,113 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.configs.ValidationConfiguration;
+import com.markort147.models.BatchResultDto;
+import com.markort147.models.RequestDto;
+import com.markort147.models.ResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the processing of many requests at once.
+ * The entries are validated one by one, so an invalid entry gets its own error instead of failing the whole batch,
+ * and the valid ones are solved in parallel by the {@link BestCombinationService}.
+ * <p>
+ * The entries are solved by a fixed pool of solver threads of their own, see {@link SolverExecutor#solverThreadFactory},
+ * which do not wait on the shared solver pool, and whose scratch arrays of the solvers are reused across the entries.
+ */
+@Log4j2
+@Service
+public class BatchCombinationService {
+
+    private final BestCombinationService bestCombinationService;
+    private final Validator validator;
+    private final Timer validationTimer;
+    private final ExecutorService executor;
+
+    /**
+     * Initializes the service with necessary dependencies and starts the pool of solver threads.
+     *
+     * @param bestCombinationService Service solving a single request.
+     * @param validator              Validator of the entries, applying the same constraints of the single request endpoint.
+     * @param solverConfiguration    Configuration of the solvers, providing the parallelism of the batches.
+     * @param meterRegistry          Registry of the validation metric.
+     */
+    @Autowired
+    public BatchCombinationService(BestCombinationService bestCombinationService, Validator validator, SolverConfiguration solverConfiguration, MeterRegistry meterRegistry) {
+        this.bestCombinationService = bestCombinationService;
+        this.validator = validator;
+        this.validationTimer = ValidationConfiguration.validationTimer(meterRegistry);
+        this.executor = Executors.newFixedThreadPool(solverConfiguration.getBatch().getParallelism(), SolverExecutor.solverThreadFactory("batch-solver-"));
+    }
+
+    /**
+     * Processes the requests of a batch in parallel.
+     *
+     * @param requests The requests of the batch.
+     * @return The results of the requests, in the same order.
+     */
+    public List<BatchResultDto> process(List<RequestDto> requests) {
+        List<CompletableFuture<BatchResultDto>> results = requests.stream().map(this::processAsync).toList();
+        return results.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Processes a single entry on the pool of solver threads.
+     *
+     * @param request The request of the entry.
+     * @return A future completed with the result of the entry, never exceptionally for invalid or unsolvable entries.
+     */
+    public CompletableFuture<BatchResultDto> processAsync(RequestDto request) {
+        return CompletableFuture.supplyAsync(() -> processEntry(request), executor);
+    }
+
+    private BatchResultDto processEntry(RequestDto request) {
+        if (request == null) return error("Request must not be null.");
+        List<ConstraintViolation<RequestDto>> violations = validationTimer.record(() -> validator.validate(request)).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .toList();
+        if (!violations.isEmpty()) {
+            ConstraintViolation<RequestDto> violation = violations.get(0);
+            return error("Argument " + violation.getPropertyPath() + " not valid: " + violation.getMessage());
+        }
+        try {
+            return response(bestCombinationService.process(request));
+        } catch (RuntimeException runtimeException) {
+            log.error("BatchCombinationService.processEntry(). RuntimeException caught: ", runtimeException);
+            return error(runtimeException.getMessage());
+        }
+    }
+
+    private static BatchResultDto response(ResponseDto response) {
+        BatchResultDto result = new BatchResultDto();
+        result.setResponse(response);
+        return result;
+    }
+
+    private static BatchResultDto error(String message) {
+        BatchResultDto result = new BatchResultDto();
+        result.setError(message);
+        return result;
+    }
+
+    /**
+     * Stops the pool of solver threads when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -3,7 +3,6 @@ package com.markort147.services;
 import com.markort147.models.ItemDto;
 import com.markort147.utils.DoubleArrayUtils;
 import com.markort147.utils.WeightRescaler;
-import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,15 +14,12 @@ import java.util.Set;
 /**
  * Service to determine the optimal combination of items from a given combination matrix.
  * It employs a backward traversal of the matrix to identify items contributing to the optimal weight-value ratio.
+ * The finder keeps no state between calls, so it can serve concurrent requests.
  */
 @Log4j2
 @Service
-@Setter
 public class BestCombinationFinder {
 
-    private CombinationMatrix matrix;
-    private List<ItemDto> items;
-
     private final WeightRescaler weightRescaler;
 
     /**
@@ -40,29 +36,31 @@ public class BestCombinationFinder {
      * Computes the best combination of items from the matrix.
      * Traverses the matrix from the end to identify the included items in the optimal set.
      *
+     * @param matrix The combination matrix built from the items.
+     * @param items  The items the matrix has been built from, in the same order of the matrix rows.
      * @return A set of integers representing item IDs in the best combination.
      */
-    public Set<Integer> getBestCombination() {
+    public Set<Integer> getBestCombination(CombinationMatrix matrix, List<ItemDto> items) {
         Set<Integer> bestCombination;
-        if (bestCombinationNotExist()) {
+        if (bestCombinationNotExist(matrix)) {
             bestCombination = new HashSet<>();
         } else {
-            bestCombination = getBestCombinationFromMatrix(items);
+            bestCombination = getBestCombinationFromMatrix(matrix, items);
         }
-        log.info("BestCombinationFinder.getBestCombination(). bestCombination=" + bestCombination);
+        log.debug("BestCombinationFinder.getBestCombination(). bestCombination={}", bestCombination);
         return bestCombination;
     }
 
-    private boolean bestCombinationNotExist() {
+    private static boolean bestCombinationNotExist(CombinationMatrix matrix) {
         return DoubleArrayUtils.getLastElement(matrix.getCombinations()).equals(new CombinationMatrix.Combination());
     }
 
-    private Set<Integer> getBestCombinationFromMatrix(List<ItemDto> items) {
+    private Set<Integer> getBestCombinationFromMatrix(CombinationMatrix matrix, List<ItemDto> items) {
         Set<Integer> bestCombination = new HashSet<>();
         int itemRow = matrix.getCombinations().length - 1;
         int weightColumn = matrix.getCombinations()[0].length - 1;
         while (itemRow > 0 && weightColumn > 0) {
-            if (removingItemThePriceChanges(itemRow, weightColumn)) {
+            if (removingItemThePriceChanges(matrix, itemRow, weightColumn)) {
                 ItemDto itemOfBestCombination = items.get(itemRow - 1);
                 bestCombination.add(itemOfBestCombination.getId());
                 weightColumn = weightColumn - weightRescaler.rescaleAsInt(itemOfBestCombination.getWeight());
@@ -72,7 +70,7 @@ public class BestCombinationFinder {
         return bestCombination;
     }
 
-    private boolean removingItemThePriceChanges(int itemRow, int weightColumn) {
+    private static boolean removingItemThePriceChanges(CombinationMatrix matrix, int itemRow, int weightColumn) {
         return !matrix.getCombinations()[itemRow][weightColumn].equals(matrix.getCombinations()[itemRow - 1][weightColumn]);
     }
 
@@ -1,35 +1,76 @@
 package com.markort147.services;
 
-import com.markort147.models.ItemDto;
+import com.markort147.configs.SolverConfiguration;
 import com.markort147.models.RequestDto;
 import com.markort147.models.ResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Provides services to find the best combination of items from a given request.
- * Leverages a combination matrix and the best combination finder algorithm to
- * determine the most suitable set of items.
+ * The best combinations are looked up first in the {@link ResultCache}, so repeated requests are not solved again.
+ * Otherwise the request is reduced by the {@link RequestPreprocessor}, the {@link CombinationSolver} most suitable to
+ * determine the best set of items is chosen by the {@link SolverDispatcher}, and the request is admitted by the
+ * {@link AdmissionController} for the memory held by that solver before the computation is delegated to it.
+ * The solver runs on the {@link SolverExecutor}, while the calling thread waits.
+ * <p>
+ * For each engine, the duration of the solves, of their build and backtrack phases, and their estimated work are
+ * recorded as metrics, to tune the cost model, together with the work counted by the solvers whose work is not fixed
+ * by the shape of the request. The number of items, the capacity and the cells held by the solves of
+ * the requests are recorded as distributions, to plan the capacity of the service.
+ * A summary of each solve is logged by the {@link SolverDiagnostics}.
+ * <p>
+ * Solves are given the deadline {@code solver.deadline.timeout} from the start of the processing. A solve stopped
+ * at the deadline is counted by the {@code solver.timeouts} metric and, depending on {@code solver.deadline.on-timeout},
+ * either its best combination so far is returned as not optimal or a {@link SolveTimeoutException} is thrown.
+ * <p>
+ * Each call of {@link #process(RequestDto)} is self-contained, so the service can process concurrent requests.
  */
+@Log4j2
 @Service
 public class BestCombinationService {
 
-    private final CombinationMatrixBuilder combinationMatrixBuilder;
-    private final BestCombinationFinder bestCombinationFinder;
+    private final RequestPreprocessor requestPreprocessor;
+    private final SolverDispatcher solverDispatcher;
+    private final ResultCache resultCache;
+    private final AdmissionController admissionController;
+    private final SolverExecutor solverExecutor;
+    private final SolverDiagnostics solverDiagnostics;
+    private final SolverConfiguration.Deadline deadlineConfiguration;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Initializes the service with necessary dependencies.
      *
-     * @param combinationMatrixBuilder A utility to build the combination matrix.
-     * @param bestCombinationFinder    An algorithm to find the optimal combination of items.
+     * @param requestPreprocessor A service removing the items that cannot be in the optimal combination.
+     * @param solverDispatcher    A service choosing the algorithm to find the optimal combination of items.
+     * @param resultCache         A cache of the optimal combinations of the requests already solved.
+     * @param admissionController A service bounding the work of the requests being solved.
+     * @param solverExecutor      A pool of threads running the solves.
+     * @param solverDiagnostics   A service logging the summary of the solves.
+     * @param solverConfiguration Configuration of the solvers, providing the deadline of the solves.
+     * @param meterRegistry       Registry of the solver metrics.
      */
     @Autowired
-    public BestCombinationService(CombinationMatrixBuilder combinationMatrixBuilder, BestCombinationFinder bestCombinationFinder) {
-        this.combinationMatrixBuilder = combinationMatrixBuilder;
-        this.bestCombinationFinder = bestCombinationFinder;
+    public BestCombinationService(RequestPreprocessor requestPreprocessor, SolverDispatcher solverDispatcher, ResultCache resultCache, AdmissionController admissionController, SolverExecutor solverExecutor, SolverDiagnostics solverDiagnostics, SolverConfiguration solverConfiguration, MeterRegistry meterRegistry) {
+        this.requestPreprocessor = requestPreprocessor;
+        this.solverDispatcher = solverDispatcher;
+        this.resultCache = resultCache;
+        this.admissionController = admissionController;
+        this.solverExecutor = solverExecutor;
+        this.solverDiagnostics = solverDiagnostics;
+        this.deadlineConfiguration = solverConfiguration.getDeadline();
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -37,28 +78,91 @@ public class BestCombinationService {
      *
      * @param requestDto The request containing the items and relevant parameters.
      * @return A response encapsulating the best combination found.
+     * @throws SolveTimeoutException      If the solve has been stopped at the deadline and such requests are rejected.
+     * @throws AdmissionRejectedException If the request has not been admitted to the solvers within the maximum wait.
      */
     public ResponseDto process(RequestDto requestDto) {
-        CombinationMatrix combinationMatrix = getMatrix(requestDto);
-        Set<Integer> bestCombination = getBestCombination(requestDto.getItems(), combinationMatrix);
-        return buildResponse(bestCombination);
+        SolveDeadline deadline = SolveDeadline.after(deadlineConfiguration.getTimeout());
+        recordRequest("solver.request.items", "Number of items of the requests", null, requestDto.getItems().size());
+        recordRequest("solver.request.capacity", "Capacity of the boxes of the requests", null, requestDto.getMaxWeight().doubleValue());
+        Optional<RequestKey> key = resultCache.keyOf(requestDto);
+        Set<Integer> cachedCombination = key.map(resultCache::get).orElse(null);
+        if (cachedCombination != null) return buildResponse(new HashSet<>(cachedCombination), true);
+
+        PreprocessedRequest preprocessedRequest = requestPreprocessor.preprocess(requestDto);
+        RequestDto reducedRequest = preprocessedRequest.getRequest();
+        SolverDispatcher.Dispatch dispatch = solverDispatcher.dispatch(reducedRequest);
+        String engine = dispatch.getSolver().getEngine().name().toLowerCase();
+        Timer solveTimer = Timer.builder("solver.duration")
+                .description("Duration of the solves")
+                .tag("engine", engine)
+                .register(meterRegistry);
+        Solution solution;
+        long durationNanos;
+        try (AdmissionController.Admission admission = admissionController.admit(dispatch.estimateCells(reducedRequest))) {
+            recordRequest("solver.request.cells", "Cells held by the solves of the requests, after preprocessing", "cells", admission.getCells());
+            long admitted = System.nanoTime();
+            solution = solverExecutor.execute(() -> solveTimer.record(() -> dispatch.solve(reducedRequest, deadline)));
+            durationNanos = System.nanoTime() - admitted;
+        }
+        solverDiagnostics.summarize(engine, reducedRequest, dispatch.getEstimatedWork(), solution, durationNanos);
+        recordWork("solver.work.estimated", engine, dispatch.getEstimatedWork());
+        if (solution.hasWork()) recordWork("solver.work.actual", engine, solution.getWork());
+        if (solution.hasPhases()) {
+            recordPhase(engine, "build", solution.getBuildNanos());
+            recordPhase(engine, "backtrack", solution.getBacktrackNanos());
+        }
+        if (solution.isTimedOut()) handleTimeout(engine, solution);
+
+        Set<Integer> bestCombination = new HashSet<>(preprocessedRequest.getForcedItems());
+        bestCombination.addAll(solution.getItems());
+        if (solution.isOptimal()) key.ifPresent(k -> resultCache.put(k, bestCombination));
+        return buildResponse(bestCombination, solution.isOptimal());
+    }
+
+    private void handleTimeout(String engine, Solution solution) {
+        SolverConfiguration.Deadline.OnTimeout onTimeout = deadlineConfiguration.getOnTimeout();
+        Counter.builder("solver.timeouts")
+                .description("Solves stopped at the deadline")
+                .tag("engine", engine)
+                .tag("action", onTimeout.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        log.warn("BestCombinationService.process(). Solve stopped at the deadline. engine=" + engine + ", work=" + solution.getWork() + ", onTimeout=" + onTimeout);
+        if (onTimeout == SolverConfiguration.Deadline.OnTimeout.REJECT) {
+            throw new SolveTimeoutException(deadlineConfiguration.getTimeout(), deadlineConfiguration.getRetryAfter());
+        }
+    }
+
+    private void recordRequest(String name, String description, String baseUnit, double value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(baseUnit)
+                .register(meterRegistry)
+                .record(value);
     }
 
-    private CombinationMatrix getMatrix(RequestDto requestDto) {
-        combinationMatrixBuilder.init(requestDto);
-        combinationMatrixBuilder.buildMatrix();
-        return combinationMatrixBuilder.getMatrix();
+    private void recordPhase(String engine, String phase, long nanos) {
+        Timer.builder("solver.phase")
+                .description("Duration of the phases of the dynamic programming solves")
+                .tag("engine", engine)
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
     }
 
-    private Set<Integer> getBestCombination(List<ItemDto> items, CombinationMatrix combinationMatrix) {
-        bestCombinationFinder.setMatrix(combinationMatrix);
-        bestCombinationFinder.setItems(items);
-        return bestCombinationFinder.getBestCombination();
+    private void recordWork(String name, String engine, long work) {
+        DistributionSummary.builder(name)
+                .description("Units of work of the solves, e.g. cells or nodes")
+                .tag("engine", engine)
+                .register(meterRegistry)
+                .record(work);
     }
 
-    private static ResponseDto buildResponse(Set<Integer> bestCombination) {
+    private static ResponseDto buildResponse(Set<Integer> bestCombination, boolean optimal) {
         ResponseDto response = new ResponseDto();
         response.setItems(bestCombination);
+        response.setOptimal(optimal);
         return response;
     }
 }
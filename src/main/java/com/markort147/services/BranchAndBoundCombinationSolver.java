@@ -0,0 +1,237 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.utils.WeightRescaler;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Service computing the best combination of items by branch-and-bound.
+ * Items are sorted by decreasing price/weight ratio and explored depth first, taking each item before leaving it.
+ * A branch is pruned when the fractional relaxation of the remaining items, filling the residual capacity greedily
+ * and taking a fraction of the first item that does not fit, cannot reach the price of the best combination found.
+ * <p>
+ * Its cost does not depend on the capacity, so it suits requests with many items. The search stops when the
+ * configured node or time budget is exhausted, or the {@link SolveDeadline} passes: the best combination found so far
+ * is returned, flagged as not optimal.
+ * Among the combinations with the best price, the lightest one is returned.
+ */
+@Log4j2
+@Service
+public class BranchAndBoundCombinationSolver implements CombinationSolver {
+
+    private static final int NODES_BETWEEN_CLOCK_CHECKS = 1024;
+
+    private final WeightRescaler weightRescaler;
+    private final SolverConfiguration.BranchAndBound configuration;
+
+    /**
+     * Initializes the solver with a weight rescaler and the search budgets.
+     *
+     * @param weightRescaler      Component for rescaling item weights.
+     * @param solverConfiguration Configuration providing the node and time budgets.
+     */
+    @Autowired
+    public BranchAndBoundCombinationSolver(WeightRescaler weightRescaler, SolverConfiguration solverConfiguration) {
+        this.weightRescaler = weightRescaler;
+        this.configuration = solverConfiguration.getBranchAndBound();
+    }
+
+    @Override
+    public SolverConfiguration.Engine getEngine() {
+        return SolverConfiguration.Engine.BRANCH_AND_BOUND;
+    }
+
+    @Override
+    public Set<Integer> getBestCombination(RequestDto requestDto) {
+        return solve(requestDto).getItems();
+    }
+
+    /**
+     * Searches until the budgets are exhausted or the deadline passes, whichever comes first.
+     */
+    @Override
+    public Solution solve(RequestDto requestDto, SolveDeadline deadline) {
+        ScaledItems items = ScaledItems.of(requestDto, weightRescaler);
+        Search search = new Search(items, items.getCapacity(),
+                configuration.getNodeBudget(), deadline.earliest(System.nanoTime() + configuration.getTimeBudget().toNanos()));
+        search.run();
+        Solution solution = new Solution(search.getBestCombination(), !search.aborted, search.nodes, search.aborted && deadline.isExpired());
+        log.debug("BranchAndBoundCombinationSolver.solve(). nodes={}, solution={}", search.nodes, solution);
+        return solution;
+    }
+
+    /**
+     * @return The node budget, the search being usually much smaller than that but not predictable.
+     */
+    @Override
+    public long estimateWork(RequestDto requestDto) {
+        return configuration.getNodeBudget();
+    }
+
+    /**
+     * @return The number of items, the search keeping a few arrays of one element per item.
+     */
+    @Override
+    public long estimateCells(RequestDto requestDto) {
+        return requestDto.getItems().size();
+    }
+
+    /**
+     * @return false, since the search stops when the budget is exhausted.
+     */
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    /**
+     * Working state of a single search.
+     */
+    private static class Search {
+        private final ScaledItems items;
+        private final int capacity;
+        private final long nodeBudget;
+        private final long deadline;
+        private final int[] order;
+        private final boolean[] taken;
+        private final boolean[] bestTaken;
+        private long bestPrice;
+        private long bestWeight;
+        private long nodes;
+        private boolean aborted;
+
+        Search(ScaledItems items, int capacity, long nodeBudget, long deadline) {
+            this.items = items;
+            this.capacity = capacity;
+            this.nodeBudget = nodeBudget;
+            this.deadline = deadline;
+            this.order = sortCandidates();
+            this.taken = new boolean[order.length];
+            this.bestTaken = new boolean[order.length];
+        }
+
+        /**
+         * Keeps the items that fit in the box and have a price, sorted by decreasing price/weight ratio.
+         */
+        private int[] sortCandidates() {
+            return IntStream.range(0, items.size())
+                    .filter(item -> items.getWeights()[item] <= capacity && items.getPrices()[item] > 0)
+                    .boxed()
+                    .sorted((first, second) -> compareProducts(
+                            items.getPrices()[second], items.getWeights()[first],
+                            items.getPrices()[first], items.getWeights()[second]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        void run() {
+            takeGreedily();
+            search(0, 0, 0);
+        }
+
+        /**
+         * Sets the combination obtained by taking the items in ratio order while they fit as first incumbent,
+         * so that a feasible combination is available even if the budget is exhausted immediately.
+         */
+        private void takeGreedily() {
+            long price = 0;
+            long weight = 0;
+            for (int depth = 0; depth < order.length; depth++) {
+                int item = order[depth];
+                if (weight + items.getWeights()[item] <= capacity) {
+                    price += items.getPrices()[item];
+                    weight += items.getWeights()[item];
+                    bestTaken[depth] = true;
+                }
+            }
+            bestPrice = price;
+            bestWeight = weight;
+        }
+
+        private void search(int depth, long price, long weight) {
+            if (budgetExhausted()) {
+                aborted = true;
+                return;
+            }
+            if (price > bestPrice || (price == bestPrice && weight < bestWeight)) {
+                bestPrice = price;
+                bestWeight = weight;
+                System.arraycopy(taken, 0, bestTaken, 0, taken.length);
+            }
+            if (depth == order.length || upperBound(depth, price, weight) < bestPrice) {
+                return;
+            }
+            int item = order[depth];
+            if (weight + items.getWeights()[item] <= capacity) {
+                taken[depth] = true;
+                search(depth + 1, price + items.getPrices()[item], weight + items.getWeights()[item]);
+                taken[depth] = false;
+                if (aborted) {
+                    return;
+                }
+            }
+            search(depth + 1, price, weight);
+        }
+
+        private boolean budgetExhausted() {
+            nodes++;
+            return nodes > nodeBudget || (nodes % NODES_BETWEEN_CLOCK_CHECKS == 0 && System.nanoTime() - deadline > 0);
+        }
+
+        /**
+         * Computes the floor of the fractional relaxation of the items from the given depth on.
+         * Prices are integers, so no combination of the branch can be worth more.
+         */
+        private long upperBound(int depth, long price, long weight) {
+            long bound = price;
+            long residualCapacity = capacity - weight;
+            for (int next = depth; next < order.length; next++) {
+                int item = order[next];
+                int itemWeight = items.getWeights()[item];
+                if (itemWeight <= residualCapacity) {
+                    residualCapacity -= itemWeight;
+                    bound += items.getPrices()[item];
+                } else {
+                    return bound + fractionOfPrice(items.getPrices()[item], residualCapacity, itemWeight);
+                }
+            }
+            return bound;
+        }
+
+        Set<Integer> getBestCombination() {
+            Set<Integer> bestCombination = new HashSet<>();
+            for (int depth = 0; depth < order.length; depth++) {
+                if (bestTaken[depth]) {
+                    bestCombination.add(items.getIds()[order[depth]]);
+                }
+            }
+            return bestCombination;
+        }
+    }
+
+    /**
+     * Computes {@code floor(price * residualCapacity / weight)}, rounding up when the product overflows a long
+     * so that the result is still an upper bound.
+     */
+    private static long fractionOfPrice(long price, long residualCapacity, int weight) {
+        if (Math.multiplyHigh(price, residualCapacity) == 0 && price * residualCapacity >= 0) {
+            return price * residualCapacity / weight;
+        }
+        return (long) Math.ceil((double) price * residualCapacity / weight) + 1;
+    }
+
+    /**
+     * Compares {@code a * b} with {@code c * d} exactly, for non-negative operands.
+     */
+    private static int compareProducts(long a, long b, long c, long d) {
+        int comparison = Long.compare(Math.multiplyHigh(a, b), Math.multiplyHigh(c, d));
+        return comparison != 0 ? comparison : Long.compareUnsigned(a * b, c * d);
+    }
+}
@@ -2,10 +2,7 @@ package com.markort147.services;
 
 import com.markort147.models.ItemDto;
 import com.markort147.models.RequestDto;
-import com.markort147.utils.DoubleArrayUtils;
 import com.markort147.utils.WeightRescaler;
-import lombok.Getter;
-import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,67 +11,70 @@ import java.util.List;
 /**
  * Service responsible for constructing a combination matrix for item optimization.
  * Utilizes dynamic programming to build a matrix where each cell represents an optimal combination of items.
+ * The builder keeps no state between calls, so it can serve concurrent requests.
+ * <p>
+ * The row of each item is its position in the request and its rescaled weight is computed once per row,
+ * so the cost of a build is proportional to the number of cells. Wide rows are filled in parallel column blocks
+ * by the {@link ParallelRowFiller}, with the same result of a sequential fill.
+ * Nothing is logged per cell: the matrix can be inspected through the dumps of the {@link SolverDiagnostics}.
  */
-@Log4j2
 @Service
 public class CombinationMatrixBuilder {
 
-    private List<ItemDto> items;
-
-    @Getter
-    private CombinationMatrix matrix;
-
     private final WeightRescaler weightRescaler;
+    private final ParallelRowFiller parallelRowFiller;
 
     /**
      * Constructor to initialize the builder with a weight rescaler.
      *
-     * @param weightRescaler Component for rescaling item weights.
+     * @param weightRescaler    Component for rescaling item weights.
+     * @param parallelRowFiller Component filling the wide rows in parallel.
      */
     @Autowired
-    public CombinationMatrixBuilder(WeightRescaler weightRescaler) {
+    public CombinationMatrixBuilder(WeightRescaler weightRescaler, ParallelRowFiller parallelRowFiller) {
         this.weightRescaler = weightRescaler;
+        this.parallelRowFiller = parallelRowFiller;
     }
 
     /**
-     * Initializes the builder with request data and prepares the matrix.
+     * Builds the combination matrix for the request using the items and the rescaled weights.
      *
      * @param requestDto Request data containing items and weight constraints.
+     * @return The combination matrix of the request.
      */
-    public void init(RequestDto requestDto) {
-        items = requestDto.getItems();
-        matrix = new CombinationMatrix(items.size(), weightRescaler.rescaleAsInt(requestDto.getMaxWeight()));
-    }
-
-    /**
-     * Builds the combination matrix using the items and the rescaled weights.
-     */
-    public void buildMatrix() {
+    public CombinationMatrix buildMatrix(RequestDto requestDto) {
+        List<ItemDto> items = requestDto.getItems();
+        CombinationMatrix matrix = new CombinationMatrix(items.size(), weightRescaler.rescaleAsInt(requestDto.getMaxWeight()));
         for (int eachNumOfItems = 0; eachNumOfItems < matrix.getCombinations().length; eachNumOfItems++) {
-            tryToAddNewItem(eachNumOfItems);
+            tryToAddNewItem(items, matrix, eachNumOfItems);
         }
-        log.info("CombinationMatrixBuilder().buildMatrix() last element=" + DoubleArrayUtils.getLastElement(matrix.getCombinations()));
+        return matrix;
     }
 
-    private void tryToAddNewItem(int newNumOfItems) {
-        for (int eachMaxWeight = 0; eachMaxWeight < matrix.getCombinations()[0].length; eachMaxWeight++) {
+    private void tryToAddNewItem(List<ItemDto> items, CombinationMatrix matrix, int newNumOfItems) {
+        ItemDto newItem = newNumOfItems == 0 ? null : items.get(newNumOfItems - 1);
+        int newItemRescaledWeight = newItem == null ? 0 : weightRescaler.rescaleAsInt(newItem.getWeight());
+        parallelRowFiller.fillRow(matrix.getCombinations()[0].length, (fromMaxWeight, toMaxWeight) ->
+                tryToAddNewItem(matrix, newNumOfItems, newItem, newItemRescaledWeight, fromMaxWeight, toMaxWeight));
+    }
+
+    private static void tryToAddNewItem(CombinationMatrix matrix, int newNumOfItems, ItemDto newItem, int newItemRescaledWeight, int fromMaxWeight, int toMaxWeight) {
+        for (int eachMaxWeight = fromMaxWeight; eachMaxWeight < toMaxWeight; eachMaxWeight++) {
             if (newNumOfItems == 0 || eachMaxWeight == 0) {
                 matrix.getCombinations()[newNumOfItems][eachMaxWeight] = new CombinationMatrix.Combination();
             } else {
-                ItemDto newItem = items.get(newNumOfItems - 1);
-                matrix.getCombinations()[newNumOfItems][eachMaxWeight] = getCombinationWithNewItemByIncreasingWeight(newItem, eachMaxWeight);
+                matrix.getCombinations()[newNumOfItems][eachMaxWeight] = getCombinationWithNewItemByIncreasingWeight(matrix.getCombinations()[newNumOfItems - 1], newItem, newItemRescaledWeight, eachMaxWeight);
             }
-            log.debug("CombinationMatrixBuilder().buildMatrix(). matrix.getCombinations()[" + newNumOfItems + "][" + eachMaxWeight + "]\t=\t" + matrix.getCombinations()[newNumOfItems][eachMaxWeight]);
         }
     }
 
-    private CombinationMatrix.Combination getCombinationWithNewItemByIncreasingWeight(ItemDto newItem, int newMaxWeight) {
-        CombinationMatrix.Combination combinationWithoutNewItemAtSameMaxWeight = matrix.getCombinations()[items.indexOf(newItem)][newMaxWeight];
+    private static CombinationMatrix.Combination getCombinationWithNewItemByIncreasingWeight(CombinationMatrix.Combination[] rowWithoutNewItem, ItemDto newItem, int newItemRescaledWeight, int newMaxWeight) {
+        CombinationMatrix.Combination combinationWithoutNewItemAtSameMaxWeight = rowWithoutNewItem[newMaxWeight];
 
-        if (newItemWeightExceedsNewMaxWeight(newItem, newMaxWeight)) {
+        if (newItemRescaledWeight > newMaxWeight) {
             return combinationWithoutNewItemAtSameMaxWeight;
         } else {
-            CombinationMatrix.Combination combinationWithNewItem = getCombinationWithNewItem(newItem, newMaxWeight);
+            CombinationMatrix.Combination combinationWithNewItem = getCombinationWithNewItem(rowWithoutNewItem, newItem, newItemRescaledWeight, newMaxWeight);
 
             if (newCombinationIsBetter(combinationWithoutNewItemAtSameMaxWeight, combinationWithNewItem)) {
                 return combinationWithNewItem;
@@ -84,33 +84,20 @@ public class CombinationMatrixBuilder {
         }
     }
 
-    private CombinationMatrix.Combination getCombinationWithNewItem(ItemDto newItem, int newMaxWeight) {
-        int newItemRescaledWeight = weightRescaler.rescaleAsInt(newItem.getWeight());
-        CombinationMatrix.Combination combinationWithoutNewItem = matrix.getCombinations()[items.indexOf(newItem)][newMaxWeight - newItemRescaledWeight];
+    private static CombinationMatrix.Combination getCombinationWithNewItem(CombinationMatrix.Combination[] rowWithoutNewItem, ItemDto newItem, int newItemRescaledWeight, int newMaxWeight) {
+        CombinationMatrix.Combination combinationWithoutNewItem = rowWithoutNewItem[newMaxWeight - newItemRescaledWeight];
         return new CombinationMatrix.Combination(combinationWithoutNewItem.getPrice().add(newItem.getPrice()), combinationWithoutNewItem.getWeight() + newItemRescaledWeight);
     }
 
-    private boolean newItemWeightExceedsNewMaxWeight(ItemDto newItem, int newMaxWeight) {
-        return weightRescaler.rescaleAsInt(newItem.getWeight()) > newMaxWeight;
-    }
-
-    private boolean newCombinationIsBetter(CombinationMatrix.Combination previousElement, CombinationMatrix.Combination elementWithNewItem) {
+    private static boolean newCombinationIsBetter(CombinationMatrix.Combination previousElement, CombinationMatrix.Combination elementWithNewItem) {
         return priceIncrease(previousElement, elementWithNewItem) || priceIsTheSameButWeightDecrease(previousElement, elementWithNewItem);
     }
 
     private static boolean priceIncrease(CombinationMatrix.Combination previousElement, CombinationMatrix.Combination elementWithNewItem) {
-        if (elementWithNewItem.getPrice().compareTo(previousElement.getPrice()) > 0) {
-            log.trace("CombinationMatrixBuilder().buildMatrix(). **** new combination has higher price");
-            return true;
-        }
-        return false;
+        return elementWithNewItem.getPrice().compareTo(previousElement.getPrice()) > 0;
     }
 
     private static boolean priceIsTheSameButWeightDecrease(CombinationMatrix.Combination previousElement, CombinationMatrix.Combination elementWithNewItem) {
-        if (elementWithNewItem.getPrice().equals(previousElement.getPrice()) && elementWithNewItem.getWeight() < previousElement.getWeight()) {
-            log.trace("CombinationMatrixBuilder().buildMatrix(). **** new combination has same price but less weight");
-            return true;
-        }
-        return false;
+        return elementWithNewItem.getPrice().equals(previousElement.getPrice()) && elementWithNewItem.getWeight() < previousElement.getWeight();
     }
 }
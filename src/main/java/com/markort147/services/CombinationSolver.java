@@ -0,0 +1,81 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+
+import java.util.Set;
+
+/**
+ * Algorithm computing the best combination of items of a request.
+ * <p>
+ * Every call is self-contained: implementations keep the working state of a solve in local variables,
+ * so a single instance can serve concurrent requests.
+ */
+public interface CombinationSolver {
+
+    /**
+     * @return The engine implemented by this solver.
+     */
+    SolverConfiguration.Engine getEngine();
+
+    /**
+     * Computes the best combination of items for the request.
+     *
+     * @param requestDto Request data containing items and weight constraints.
+     * @return A set of integers representing item IDs in the best combination.
+     */
+    Set<Integer> getBestCombination(RequestDto requestDto);
+
+    /**
+     * Computes the best combination of items for the request, reporting whether it is proven optimal.
+     * Exact solvers always return an optimal solution, and their work depends only on the shape of the request.
+     *
+     * @param requestDto Request data containing items and weight constraints.
+     * @return The solution found.
+     */
+    default Solution solve(RequestDto requestDto) {
+        return solve(requestDto, SolveDeadline.none());
+    }
+
+    /**
+     * Computes the best combination of items for the request, stopping at the deadline.
+     * Solvers that can be stopped return the best combination found so far, flagged as not optimal and timed out;
+     * the others ignore the deadline.
+     *
+     * @param requestDto Request data containing items and weight constraints.
+     * @param deadline   The deadline of the solve.
+     * @return The solution found.
+     */
+    default Solution solve(RequestDto requestDto, SolveDeadline deadline) {
+        return new Solution(getBestCombination(requestDto), true, Solution.UNCOUNTED);
+    }
+
+    /**
+     * Estimates the units of work needed to solve the request, e.g. cells for dynamic programming or nodes for a search.
+     * Units differ from engine to engine, so they are weighted by the cost model before being compared.
+     *
+     * @param requestDto Request data containing items and weight constraints.
+     * @return The estimated units of work, never negative, or {@link Long#MAX_VALUE} if the engine cannot solve the request,
+     * e.g. because its rescaled weights do not fit in an int.
+     */
+    long estimateWork(RequestDto requestDto);
+
+    /**
+     * Estimates the memory held by the solve of the request, in cells of dynamic programming table, i.e. the twelve
+     * bytes of a price and a weight. It is the cost charged by the {@link AdmissionController}.
+     * By default, one cell per unit of work, as for the solvers filling a table.
+     *
+     * @param requestDto Request data containing items and weight constraints.
+     * @return The estimated cells, never negative, or {@link Long#MAX_VALUE} if the engine cannot solve the request.
+     */
+    default long estimateCells(RequestDto requestDto) {
+        return estimateWork(requestDto);
+    }
+
+    /**
+     * @return Whether the solutions of this solver are always optimal.
+     */
+    default boolean isExact() {
+        return true;
+    }
+}
@@ -0,0 +1,225 @@
+package com.markort147.services;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Dynamic programming table stored in flat primitive arrays like the {@link PrimitiveCombinationTable},
+ * but growing by one row for each item appended.
+ * Row {@code i} holds the best combinations using the first {@code i} items, column {@code w} the best combinations
+ * whose rescaled weight does not exceed {@code w}, so the last row answers every capacity up to the one of the table.
+ * It backs the {@link SolverSession} and the {@link MultiCapacityCombinationService}.
+ * Once filled, the table can be read by concurrent threads.
+ * <p>
+ * Column zero is filled as well, so items without weight are taken even by a box without capacity.
+ * Prices are scaled longs: when an item with more decimals is appended, the whole table is rescaled,
+ * which keeps every comparison and then every combination unchanged.
+ */
+class IncrementalCombinationTable {
+
+    private static final int INITIAL_ITEMS = 4;
+
+    private final int columns;
+    private final int maxItems;
+    private long[] prices;
+    private int[] weights;
+    private int[] itemIds;
+    private int[] itemWeights;
+    private long[] itemPrices;
+    private int numberOfItems;
+    private int priceScale;
+    private long totalPrice;
+
+    /**
+     * Allocates a table without items, whose only row holds the empty combination, growing up to the given number
+     * of items: its arrays are never longer than the table with that many items.
+     *
+     * @param maxWeight The rescaled capacity of the box.
+     * @param maxItems  The maximum number of items of the table.
+     */
+    static IncrementalCombinationTable bounded(int maxWeight, int maxItems) {
+        return new IncrementalCombinationTable(maxWeight, Math.min(INITIAL_ITEMS, maxItems), maxItems);
+    }
+
+    /**
+     * Allocates a table without items with room for the given number of items, so that it does not grow
+     * while they are appended.
+     *
+     * @param maxWeight     The rescaled capacity of the box.
+     * @param expectedItems The number of items expected.
+     */
+    IncrementalCombinationTable(int maxWeight, int expectedItems) {
+        this(maxWeight, Math.max(1, expectedItems), Integer.MAX_VALUE);
+    }
+
+    private IncrementalCombinationTable(int maxWeight, int initialItems, int maxItems) {
+        columns = maxWeight + 1;
+        this.maxItems = maxItems;
+        prices = new long[Math.toIntExact(cells(initialItems))];
+        weights = new int[prices.length];
+        itemIds = new int[initialItems];
+        itemWeights = new int[initialItems];
+        itemPrices = new long[initialItems];
+    }
+
+    /**
+     * @return The number of cells allocated, i.e. the memory held by the table in units of twelve bytes.
+     */
+    long allocatedCells() {
+        return prices.length;
+    }
+
+    /**
+     * @return The number of cells of the table with the given number of items.
+     */
+    long cells(int items) {
+        return (items + 1L) * columns;
+    }
+
+    int getColumns() {
+        return columns;
+    }
+
+    int size() {
+        return numberOfItems;
+    }
+
+    int indexOf(int itemId) {
+        for (int item = 0; item < numberOfItems; item++) {
+            if (itemIds[item] == itemId) return item;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether items with the given prices can be appended, i.e. whether the total price of the table,
+     * scaled to the most decimals of all the prices, still fits in a long.
+     *
+     * @param newPrices The prices of the items to append.
+     * @return Whether all the items can be appended.
+     */
+    boolean canAppend(Collection<BigDecimal> newPrices) {
+        int scale = priceScale;
+        for (BigDecimal price : newPrices) {
+            scale = Math.max(scale, price.scale());
+        }
+        try {
+            long total = Math.multiplyExact(totalPrice, BigDecimal.ONE.movePointRight(scale - priceScale).longValueExact());
+            for (BigDecimal price : newPrices) {
+                total = Math.addExact(total, price.movePointRight(scale).longValueExact());
+            }
+            return true;
+        } catch (ArithmeticException arithmeticException) {
+            return false;
+        }
+    }
+
+    /**
+     * Appends an item, computing its row only.
+     *
+     * @param id     The identifier of the item.
+     * @param weight The rescaled weight of the item.
+     * @param price  The price of the item.
+     * @throws ArithmeticException if the sum of the scaled prices does not fit in a long, see {@link #canAppend}.
+     * @throws IllegalStateException if the table already has its maximum number of items.
+     */
+    void append(int id, int weight, BigDecimal price) {
+        if (price.scale() > priceScale) rescalePrices(price.scale());
+        appendScaled(id, weight, price.movePointRight(priceScale).longValueExact());
+    }
+
+    /**
+     * Removes an item. The rows of the items before it are kept, those of the items after it are computed again.
+     *
+     * @param item The index of the item.
+     */
+    void remove(int item) {
+        int[] followingIds = Arrays.copyOfRange(itemIds, item + 1, numberOfItems);
+        int[] followingWeights = Arrays.copyOfRange(itemWeights, item + 1, numberOfItems);
+        long[] followingPrices = Arrays.copyOfRange(itemPrices, item + 1, numberOfItems);
+        for (int removed = item; removed < numberOfItems; removed++) {
+            totalPrice -= itemPrices[removed];
+        }
+        numberOfItems = item;
+        for (int following = 0; following < followingIds.length; following++) {
+            appendScaled(followingIds[following], followingWeights[following], followingPrices[following]);
+        }
+    }
+
+    /**
+     * Rebuilds the best combination of all the items for a capacity up to the one of the table.
+     *
+     * @param maxWeight The rescaled capacity, between zero and the one of the table.
+     * @return The identifiers of the items of the best combination.
+     */
+    Set<Integer> getBestCombination(int maxWeight) {
+        Set<Integer> bestCombination = new HashSet<>();
+        int weightColumn = maxWeight;
+        for (int row = numberOfItems; row > 0; row--) {
+            int cell = row * columns + weightColumn;
+            int above = cell - columns;
+            if (prices[cell] != prices[above] || weights[cell] != weights[above]) {
+                bestCombination.add(itemIds[row - 1]);
+                weightColumn = weightColumn - itemWeights[row - 1];
+            }
+        }
+        return bestCombination;
+    }
+
+    private void appendScaled(int id, int weight, long price) {
+        totalPrice = Math.addExact(totalPrice, price);
+        ensureCapacity(numberOfItems + 1);
+        itemIds[numberOfItems] = id;
+        itemWeights[numberOfItems] = weight;
+        itemPrices[numberOfItems] = price;
+        numberOfItems++;
+        fillRow(numberOfItems, weight, price);
+    }
+
+    private void fillRow(int row, int itemWeight, long itemPrice) {
+        int previousRowStart = (row - 1) * columns;
+        int rowStart = row * columns;
+        for (int column = 0; column < columns; column++) {
+            int without = previousRowStart + column;
+            int cell = rowStart + column;
+            prices[cell] = prices[without];
+            weights[cell] = weights[without];
+            if (itemWeight <= column) {
+                int remainder = without - itemWeight;
+                long priceWith = prices[remainder] + itemPrice;
+                int weightWith = weights[remainder] + itemWeight;
+                if (priceWith > prices[without] || (priceWith == prices[without] && weightWith < weights[without])) {
+                    prices[cell] = priceWith;
+                    weights[cell] = weightWith;
+                }
+            }
+        }
+    }
+
+    private void ensureCapacity(int items) {
+        if (items <= itemIds.length) return;
+        if (items > maxItems) throw new IllegalStateException("Table would have " + items + " items. Tables must have at most " + maxItems + " items.");
+        int grownItems = Math.min(maxItems, Math.max(items, itemIds.length * 2));
+        itemIds = Arrays.copyOf(itemIds, grownItems);
+        itemWeights = Arrays.copyOf(itemWeights, grownItems);
+        itemPrices = Arrays.copyOf(itemPrices, grownItems);
+        prices = Arrays.copyOf(prices, Math.toIntExact(cells(grownItems)));
+        weights = Arrays.copyOf(weights, prices.length);
+    }
+
+    private void rescalePrices(int scale) {
+        long factor = BigDecimal.ONE.movePointRight(scale - priceScale).longValueExact();
+        totalPrice = Math.multiplyExact(totalPrice, factor);
+        for (int item = 0; item < numberOfItems; item++) {
+            itemPrices[item] *= factor;
+        }
+        int usedCells = Math.toIntExact(cells(numberOfItems));
+        for (int cell = 0; cell < usedCells; cell++) {
+            prices[cell] *= factor;
+        }
+        priceScale = scale;
+    }
+}
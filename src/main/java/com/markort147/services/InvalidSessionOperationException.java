@@ -0,0 +1,11 @@
+package com.markort147.services;
+
+/**
+ * Thrown when an operation cannot be applied to a session, e.g. because it exceeds the limits of the session.
+ */
+public class InvalidSessionOperationException extends RuntimeException {
+
+    public InvalidSessionOperationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,91 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.utils.WeightRescaler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Solver based on the {@link CombinationMatrix}: the matrix is built by the {@link CombinationMatrixBuilder}
+ * and traversed backwards by the {@link BestCombinationFinder}.
+ * The matrix is dumped to a file by the {@link SolverDiagnostics} when the {@link SolverDispatcher} dispatches
+ * to this solver a request to be dumped.
+ */
+@Service
+public class MatrixCombinationSolver implements CombinationSolver {
+
+    private final CombinationMatrixBuilder combinationMatrixBuilder;
+    private final BestCombinationFinder bestCombinationFinder;
+    private final WeightRescaler weightRescaler;
+    private final SolverDiagnostics solverDiagnostics;
+
+    /**
+     * Initializes the solver with necessary dependencies.
+     *
+     * @param combinationMatrixBuilder A utility to build the combination matrix.
+     * @param bestCombinationFinder    An algorithm to find the optimal combination of items.
+     * @param weightRescaler           Component for rescaling the capacity of the box.
+     * @param solverDiagnostics        A service dumping the matrices.
+     */
+    @Autowired
+    public MatrixCombinationSolver(CombinationMatrixBuilder combinationMatrixBuilder, BestCombinationFinder bestCombinationFinder, WeightRescaler weightRescaler, SolverDiagnostics solverDiagnostics) {
+        this.combinationMatrixBuilder = combinationMatrixBuilder;
+        this.bestCombinationFinder = bestCombinationFinder;
+        this.weightRescaler = weightRescaler;
+        this.solverDiagnostics = solverDiagnostics;
+    }
+
+    @Override
+    public SolverConfiguration.Engine getEngine() {
+        return SolverConfiguration.Engine.MATRIX;
+    }
+
+    @Override
+    public Set<Integer> getBestCombination(RequestDto requestDto) {
+        return solve(requestDto, SolveDeadline.none()).getItems();
+    }
+
+    /**
+     * Builds the whole matrix and backtracks it, ignoring the deadline.
+     */
+    @Override
+    public Solution solve(RequestDto requestDto, SolveDeadline deadline) {
+        return solve(requestDto, false);
+    }
+
+    /**
+     * Solves the request like {@link #solve(RequestDto, SolveDeadline)}, then dumps its matrix.
+     * The matrix is handed to the thread of the dumps after the backtrack, so the solve does not wait for the file.
+     *
+     * @param requestDto Request data containing items and weight constraints.
+     * @return The solution found.
+     */
+    public Solution solveAndDump(RequestDto requestDto) {
+        return solve(requestDto, true);
+    }
+
+    private Solution solve(RequestDto requestDto, boolean dump) {
+        long start = System.nanoTime();
+        CombinationMatrix combinationMatrix = combinationMatrixBuilder.buildMatrix(requestDto);
+        long built = System.nanoTime();
+        Set<Integer> bestCombination = bestCombinationFinder.getBestCombination(combinationMatrix, requestDto.getItems());
+        long backtracked = System.nanoTime();
+        if (dump) solverDiagnostics.scheduleMatrixDump(combinationMatrix, requestDto);
+        return new Solution(bestCombination, true, Solution.UNCOUNTED, false, built - start, backtracked - built);
+    }
+
+    /**
+     * @return The number of cells of the matrix.
+     */
+    @Override
+    public long estimateWork(RequestDto requestDto) {
+        try {
+            return (requestDto.getItems().size() + 1L) * (weightRescaler.rescaleAsInt(requestDto.getMaxWeight()) + 1L);
+        } catch (ArithmeticException arithmeticException) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
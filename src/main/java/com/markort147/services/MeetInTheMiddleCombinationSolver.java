@@ -0,0 +1,224 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service computing the best combination of items by meet-in-the-middle.
+ * The items are split in two halves, the total weight and price of every subset of each half are enumerated,
+ * and each subset of the first half is merged with the best subset of the second half that still fits in the box,
+ * found by binary search over the subsets sorted by weight.
+ * <p>
+ * The cost depends on the number of items only, not on the capacity: weights are compared as they are,
+ * without rescaling them to integers, so it is the engine to use when the rescaled capacity is large.
+ * Among the combinations with the best price, the lightest one is returned, and among those with the same price and
+ * weight the one the dynamic programming engines return: the one without the last item in which they differ.
+ * <p>
+ * The deadline is checked while the subsets are enumerated and merged: a stopped solve returns the best combination
+ * among the subsets enumerated so far.
+ */
+@Log4j2
+@Service
+public class MeetInTheMiddleCombinationSolver implements CombinationSolver {
+
+    /**
+     * Maximum number of items, beyond which the subsets of each half no longer fit in memory.
+     */
+    public static final int MAX_ITEMS = 32;
+
+    private static final int SUBSETS_BETWEEN_CLOCK_CHECKS = 1024;
+
+    @Override
+    public SolverConfiguration.Engine getEngine() {
+        return SolverConfiguration.Engine.MEET_IN_THE_MIDDLE;
+    }
+
+    @Override
+    public Set<Integer> getBestCombination(RequestDto requestDto) {
+        return solve(requestDto, SolveDeadline.none()).getItems();
+    }
+
+    /**
+     * Enumerates and merges the subsets until the deadline passes. A stopped solve returns the best combination
+     * among the subsets enumerated so far, with the number of subsets enumerated as work.
+     */
+    @Override
+    public Solution solve(RequestDto requestDto, SolveDeadline deadline) {
+        List<ItemDto> items = requestDto.getItems();
+        if (items.size() > MAX_ITEMS) {
+            throw new IllegalStateException("Too many items for meet-in-the-middle: " + items.size() + ". Items must be within " + MAX_ITEMS + ".");
+        }
+        Subsets firstHalf = new Subsets(items.subList(0, items.size() / 2), deadline);
+        Subsets secondHalf = new Subsets(items.subList(items.size() / 2, items.size()), deadline);
+        Merge merge = new Merge(firstHalf, secondHalf, requestDto.getMaxWeight(), deadline);
+        boolean timedOut = !firstHalf.complete || !secondHalf.complete || !merge.complete;
+        log.debug("MeetInTheMiddleCombinationSolver.solve(). bestCombination={}, timedOut={}", merge.bestCombination, timedOut);
+        return new Solution(merge.bestCombination, !timedOut, timedOut ? firstHalf.size + secondHalf.size : Solution.UNCOUNTED, timedOut);
+    }
+
+    /**
+     * @return The number of subsets enumerated in the two halves.
+     */
+    @Override
+    public long estimateWork(RequestDto requestDto) {
+        int numberOfItems = requestDto.getItems().size();
+        if (numberOfItems > MAX_ITEMS) {
+            return Long.MAX_VALUE;
+        }
+        return (1L << (numberOfItems / 2)) + (1L << (numberOfItems - numberOfItems / 2));
+    }
+
+    /**
+     * @return Eight cells for each subset enumerated, which holds a total weight and price as big decimals
+     * and its position in the sorted subsets, about a hundred bytes.
+     */
+    @Override
+    public long estimateCells(RequestDto requestDto) {
+        long subsets = estimateWork(requestDto);
+        return subsets == Long.MAX_VALUE ? Long.MAX_VALUE : 8 * subsets;
+    }
+
+    /**
+     * Merges each subset of the first half with the best subset of the second half that still fits in the box.
+     * On the same price and weight, the smaller subset of the second half wins, then the smaller of the first half,
+     * i.e. the combination without the last item in which they differ.
+     */
+    private static final class Merge {
+        private final Set<Integer> bestCombination = new HashSet<>();
+        private boolean complete = true;
+
+        private Merge(Subsets firstHalf, Subsets secondHalf, BigDecimal maxWeight, SolveDeadline deadline) {
+            Integer[] sortedByWeight = secondHalf.sortByWeight();
+            int[] bestUpToWeight = secondHalf.bestUpTo(sortedByWeight);
+
+            int bestFirst = 0;
+            int bestSecond = 0;
+            BigDecimal bestPrice = BigDecimal.ZERO;
+            BigDecimal bestWeight = BigDecimal.ZERO;
+            for (int first = 0; first < firstHalf.size; first++) {
+                if (first % SUBSETS_BETWEEN_CLOCK_CHECKS == 0 && deadline.isExpired()) {
+                    complete = false;
+                    break;
+                }
+                BigDecimal remainingWeight = maxWeight.subtract(firstHalf.weights[first]);
+                int position = lastFitting(secondHalf, sortedByWeight, remainingWeight);
+                if (position < 0) {
+                    continue;
+                }
+                int second = bestUpToWeight[position];
+                BigDecimal price = firstHalf.prices[first].add(secondHalf.prices[second]);
+                BigDecimal weight = firstHalf.weights[first].add(secondHalf.weights[second]);
+                int comparison = compare(price, weight, bestPrice, bestWeight);
+                if (comparison > 0 || (comparison == 0 && (second < bestSecond || (second == bestSecond && first < bestFirst)))) {
+                    bestFirst = first;
+                    bestSecond = second;
+                    bestPrice = price;
+                    bestWeight = weight;
+                }
+            }
+            firstHalf.addIds(bestFirst, bestCombination);
+            secondHalf.addIds(bestSecond, bestCombination);
+        }
+    }
+
+    private static int lastFitting(Subsets subsets, Integer[] sortedByWeight, BigDecimal maxWeight) {
+        int low = 0;
+        int high = sortedByWeight.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (subsets.weights[sortedByWeight[middle]].compareTo(maxWeight) <= 0) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return A positive number if the first combination has a higher price, or the same price and a lower weight;
+     * zero if both have the same price and weight; a negative number otherwise.
+     */
+    private static int compare(BigDecimal price, BigDecimal weight, BigDecimal otherPrice, BigDecimal otherWeight) {
+        int priceComparison = price.compareTo(otherPrice);
+        return priceComparison != 0 ? priceComparison : otherWeight.compareTo(weight);
+    }
+
+    /**
+     * Total weight and price of every subset of a list of items.
+     * The subset at index {@code mask} contains the items whose bit is set in {@code mask}.
+     * Once the deadline passes, only the subsets enumerated so far, those with the lowest masks, are kept.
+     */
+    private static class Subsets {
+        private final List<ItemDto> items;
+        private final BigDecimal[] weights;
+        private final BigDecimal[] prices;
+        private int size;
+        private boolean complete = true;
+
+        Subsets(List<ItemDto> items, SolveDeadline deadline) {
+            this.items = items;
+            size = 1 << items.size();
+            weights = new BigDecimal[size];
+            prices = new BigDecimal[size];
+            weights[0] = BigDecimal.ZERO;
+            prices[0] = BigDecimal.ZERO;
+            for (int mask = 1; mask < size; mask++) {
+                if (mask % SUBSETS_BETWEEN_CLOCK_CHECKS == 0 && deadline.isExpired()) {
+                    size = mask;
+                    complete = false;
+                    break;
+                }
+                int lowestBit = mask & -mask;
+                ItemDto item = items.get(Integer.numberOfTrailingZeros(lowestBit));
+                weights[mask] = weights[mask ^ lowestBit].add(item.getWeight());
+                prices[mask] = prices[mask ^ lowestBit].add(item.getPrice());
+            }
+        }
+
+        Integer[] sortByWeight() {
+            Integer[] masks = new Integer[size];
+            Arrays.setAll(masks, mask -> mask);
+            Arrays.sort(masks, Comparator.comparing(mask -> weights[mask]));
+            return masks;
+        }
+
+        /**
+         * For each position of the sorted subsets, finds the best subset among those up to that position,
+         * the one with the lowest mask among those with the same price and weight.
+         */
+        int[] bestUpTo(Integer[] sortedByWeight) {
+            int[] best = new int[sortedByWeight.length];
+            int bestMask = sortedByWeight[0];
+            for (int position = 0; position < sortedByWeight.length; position++) {
+                int mask = sortedByWeight[position];
+                int comparison = compare(prices[mask], weights[mask], prices[bestMask], weights[bestMask]);
+                if (comparison > 0 || (comparison == 0 && mask < bestMask)) {
+                    bestMask = mask;
+                }
+                best[position] = bestMask;
+            }
+            return best;
+        }
+
+        void addIds(int mask, Set<Integer> ids) {
+            for (int item = 0; item < items.size(); item++) {
+                if ((mask & (1 << item)) != 0) {
+                    ids.add(items.get(item).getId());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.markort147.services;
+
+import com.markort147.models.ItemDto;
+import com.markort147.models.MultiCapacityRequestDto;
+import com.markort147.models.MultiCapacityResponseDto;
+import com.markort147.utils.WeightRescaler;
+import com.markort147.utils.WeightScale;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Provides the best combinations of one item list for several boxes.
+ * A single table is filled up to the largest capacity: its last row holds the best combination for every smaller
+ * capacity too, so each box only costs a backtrack through the rows.
+ * <p>
+ * Backtracks are read-only and run in parallel when there are enough of them to pay off the scheduling,
+ * i.e. when the number of boxes times the number of items reaches {@link #PARALLEL_BACKTRACK_THRESHOLD}.
+ * <p>
+ * Like a single request, the request is charged the cells of its table by the {@link AdmissionController}
+ * and solved on the {@link SolverExecutor}.
+ */
+@Log4j2
+@Service
+public class MultiCapacityCombinationService {
+
+    static final int PARALLEL_BACKTRACK_THRESHOLD = 4096;
+
+    private final WeightRescaler weightRescaler;
+    private final AdmissionController admissionController;
+    private final SolverExecutor solverExecutor;
+
+    /**
+     * Initializes the service with necessary dependencies.
+     *
+     * @param weightRescaler      Component computing the scale of the weights of the request.
+     * @param admissionController A service bounding the work of the requests being solved.
+     * @param solverExecutor      A pool of threads running the solves.
+     */
+    @Autowired
+    public MultiCapacityCombinationService(WeightRescaler weightRescaler, AdmissionController admissionController, SolverExecutor solverExecutor) {
+        this.weightRescaler = weightRescaler;
+        this.admissionController = admissionController;
+        this.solverExecutor = solverExecutor;
+    }
+
+    /**
+     * Processes the request to find the best combination of items for each box.
+     *
+     * @param requestDto The request containing the items and the capacities of the boxes.
+     * @return The best combinations, in the same order of the capacities.
+     */
+    public List<MultiCapacityResponseDto> process(MultiCapacityRequestDto requestDto) {
+        List<ItemDto> items = requestDto.getItems();
+        WeightScale weightScale = weightRescaler.getScale(items.stream().map(ItemDto::getWeight).toList());
+        int largestMaxWeight = weightScale.rescaleCapacityAsInt(Collections.max(requestDto.getMaxWeights()));
+        long cells = (items.size() + 1L) * (largestMaxWeight + 1L);
+        log.info("MultiCapacityCombinationService.process(). boxes=" + requestDto.getMaxWeights().size() + ", cells=" + cells);
+        try (AdmissionController.Admission admission = admissionController.admit(cells)) {
+            return solverExecutor.execute(() -> solve(requestDto, weightScale, largestMaxWeight));
+        }
+    }
+
+    private static List<MultiCapacityResponseDto> solve(MultiCapacityRequestDto requestDto, WeightScale weightScale, int largestMaxWeight) {
+        List<ItemDto> items = requestDto.getItems();
+        IncrementalCombinationTable table = new IncrementalCombinationTable(largestMaxWeight, items.size());
+        items.forEach(item -> table.append(item.getId(), weightScale.rescaleAsInt(item.getWeight()), item.getPrice()));
+
+        Stream<BigDecimal> maxWeights = requestDto.getMaxWeights().stream();
+        if ((long) requestDto.getMaxWeights().size() * items.size() >= PARALLEL_BACKTRACK_THRESHOLD) {
+            maxWeights = maxWeights.parallel();
+        }
+        return maxWeights.map(maxWeight -> buildResponse(maxWeight, table.getBestCombination(weightScale.rescaleCapacityAsInt(maxWeight)))).toList();
+    }
+
+    private static MultiCapacityResponseDto buildResponse(BigDecimal maxWeight, Set<Integer> bestCombination) {
+        MultiCapacityResponseDto response = new MultiCapacityResponseDto();
+        response.setMaxWeight(maxWeight);
+        response.setItems(bestCombination);
+        response.setOptimal(true);
+        return response;
+    }
+}
@@ -0,0 +1,96 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fills the rows of the dynamic programming tables.
+ * Every cell of a row depends only on the previous row, so the columns of a row can be filled in any order:
+ * rows with at least {@code solver.parallel-fill.min-columns} columns are split into blocks of
+ * {@code solver.parallel-fill.block-columns} columns, filled in parallel on the common {@link ForkJoinPool}.
+ * Narrower rows are filled by the calling thread, since splitting them would cost more than filling them.
+ * <p>
+ * The fill of a row returns when all its blocks are filled, so the next row always reads a complete row.
+ */
+@Component
+public class ParallelRowFiller {
+
+    /**
+     * Fills a range of columns of a row.
+     */
+    @FunctionalInterface
+    public interface ColumnRangeFiller {
+        /**
+         * @param fromColumn The first column to fill, inclusive.
+         * @param toColumn   The last column to fill, exclusive.
+         */
+        void fill(int fromColumn, int toColumn);
+    }
+
+    private final boolean enabled;
+    private final int minColumns;
+    private final int blockColumns;
+
+    /**
+     * Initializes the filler with the configured thresholds.
+     *
+     * @param solverConfiguration Configuration of the solvers, providing the thresholds of the parallel fill.
+     */
+    @Autowired
+    public ParallelRowFiller(SolverConfiguration solverConfiguration) {
+        SolverConfiguration.ParallelFill configuration = solverConfiguration.getParallelFill();
+        this.enabled = configuration.isEnabled();
+        this.minColumns = configuration.getMinColumns();
+        this.blockColumns = Math.max(1, configuration.getBlockColumns());
+    }
+
+    /**
+     * @return A filler filling every row on the calling thread.
+     */
+    public static ParallelRowFiller sequential() {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getParallelFill().setEnabled(false);
+        return new ParallelRowFiller(solverConfiguration);
+    }
+
+    /**
+     * Fills all the columns of a row, in parallel blocks if the row is wide enough.
+     *
+     * @param columns The number of columns of the row.
+     * @param filler  The fill of a range of columns.
+     */
+    public void fillRow(int columns, ColumnRangeFiller filler) {
+        if (!enabled || columns < minColumns) {
+            filler.fill(0, columns);
+        } else {
+            ForkJoinPool.commonPool().invoke(new ColumnBlock(filler, 0, columns));
+        }
+    }
+
+    private final class ColumnBlock extends RecursiveAction {
+
+        private final transient ColumnRangeFiller filler;
+        private final int fromColumn;
+        private final int toColumn;
+
+        private ColumnBlock(ColumnRangeFiller filler, int fromColumn, int toColumn) {
+            this.filler = filler;
+            this.fromColumn = fromColumn;
+            this.toColumn = toColumn;
+        }
+
+        @Override
+        protected void compute() {
+            if (toColumn - fromColumn <= blockColumns) {
+                filler.fill(fromColumn, toColumn);
+            } else {
+                int middleColumn = (fromColumn + toColumn) >>> 1;
+                invokeAll(new ColumnBlock(filler, fromColumn, middleColumn), new ColumnBlock(filler, middleColumn, toColumn));
+            }
+        }
+    }
+}
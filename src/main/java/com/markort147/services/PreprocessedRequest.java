@@ -0,0 +1,28 @@
+package com.markort147.services;
+
+import com.markort147.models.RequestDto;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Represents a request reduced by the {@link RequestPreprocessor}: the items and capacity left to the solver,
+ * and the items that belong to the best combination whatever the solver chooses.
+ */
+@Getter
+public class PreprocessedRequest {
+
+    private final RequestDto request;
+    private final Set<Integer> forcedItems;
+
+    /**
+     * Constructor for initializing a preprocessed request.
+     *
+     * @param request     The reduced request to be solved.
+     * @param forcedItems The set of item IDs to be added to the solution of the reduced request.
+     */
+    public PreprocessedRequest(RequestDto request, Set<Integer> forcedItems) {
+        this.request = request;
+        this.forcedItems = forcedItems;
+    }
+}
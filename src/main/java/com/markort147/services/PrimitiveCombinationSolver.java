@@ -0,0 +1,134 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.utils.WeightRescaler;
+import com.markort147.utils.WeightScale;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Service computing the best combination of items with a dynamic programming table made of primitive arrays.
+ * Prices are handled as scaled longs and weights as rescaled ints, so no object is allocated per cell.
+ * It returns the same combinations of the {@link CombinationMatrixBuilder} and {@link BestCombinationFinder} pair,
+ * including the preference for the lighter combination when two combinations have the same price.
+ * The table arrays are reused across the solves of a thread through the {@link SolverWorkspace},
+ * and wide rows are filled in parallel column blocks by the {@link ParallelRowFiller}.
+ * The {@link SolveDeadline} is checked before each row.
+ */
+@Log4j2
+@Service
+public class PrimitiveCombinationSolver implements CombinationSolver {
+
+    private final WeightRescaler weightRescaler;
+    private final ParallelRowFiller parallelRowFiller;
+
+    /**
+     * Initializes the solver with a weight rescaler.
+     *
+     * @param weightRescaler    Component for rescaling item weights.
+     * @param parallelRowFiller Component filling the wide rows in parallel.
+     */
+    @Autowired
+    public PrimitiveCombinationSolver(WeightRescaler weightRescaler, ParallelRowFiller parallelRowFiller) {
+        this.weightRescaler = weightRescaler;
+        this.parallelRowFiller = parallelRowFiller;
+    }
+
+    @Override
+    public SolverConfiguration.Engine getEngine() {
+        return SolverConfiguration.Engine.PRIMITIVE;
+    }
+
+    @Override
+    public Set<Integer> getBestCombination(RequestDto requestDto) {
+        return solve(requestDto, SolveDeadline.none()).getItems();
+    }
+
+    /**
+     * Fills the table row by row until the deadline passes. A stopped solve returns the best combination
+     * of the items of the rows filled so far.
+     */
+    @Override
+    public Solution solve(RequestDto requestDto, SolveDeadline deadline) {
+        long start = System.nanoTime();
+        ScaledItems items = ScaledItems.of(requestDto, weightRescaler);
+        PrimitiveCombinationTable table = new PrimitiveCombinationTable(items.size(), items.getCapacity(), SolverWorkspace.current());
+        int lastRow = fillTable(items, table, deadline);
+        long built = System.nanoTime();
+        boolean timedOut = lastRow < items.size();
+        Set<Integer> bestCombination = getBestCombinationFromTable(items, table, lastRow);
+        Solution solution = new Solution(bestCombination, !timedOut, timedOut ? (long) lastRow * items.getCapacity() : Solution.UNCOUNTED, timedOut, built - start, System.nanoTime() - built);
+        log.debug("PrimitiveCombinationSolver.solve(). solution={}", solution);
+        return solution;
+    }
+
+    /**
+     * @return The number of cells filled, i.e. all cells but the first row and column.
+     */
+    @Override
+    public long estimateWork(RequestDto requestDto) {
+        try {
+            WeightScale weightScale = ScaledItems.getWeightScale(requestDto, weightRescaler);
+            return (long) requestDto.getItems().size() * weightScale.rescaleCapacityAsInt(requestDto.getMaxWeight());
+        } catch (ArithmeticException arithmeticException) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return The last row filled.
+     */
+    private int fillTable(ScaledItems items, PrimitiveCombinationTable table, SolveDeadline deadline) {
+        for (int row = 1; row < table.getRows(); row++) {
+            if (deadline.isExpired()) return row - 1;
+            int itemRow = row;
+            parallelRowFiller.fillRow(table.getColumns(), (fromColumn, toColumn) ->
+                    fillRow(items, table, itemRow, Math.max(1, fromColumn), toColumn));
+        }
+        return table.getRows() - 1;
+    }
+
+    private static void fillRow(ScaledItems items, PrimitiveCombinationTable table, int row, int fromColumn, int toColumn) {
+        long[] prices = table.getPrices();
+        int[] weights = table.getWeights();
+        int columns = table.getColumns();
+        int itemWeight = items.getWeights()[row - 1];
+        long itemPrice = items.getPrices()[row - 1];
+        int previousRowStart = (row - 1) * columns;
+        int rowStart = row * columns;
+        for (int column = fromColumn; column < toColumn; column++) {
+            int without = previousRowStart + column;
+            int cell = rowStart + column;
+            prices[cell] = prices[without];
+            weights[cell] = weights[without];
+            if (itemWeight <= column) {
+                int remainder = previousRowStart + column - itemWeight;
+                long priceWith = prices[remainder] + itemPrice;
+                int weightWith = weights[remainder] + itemWeight;
+                if (priceWith > prices[without] || (priceWith == prices[without] && weightWith < weights[without])) {
+                    prices[cell] = priceWith;
+                    weights[cell] = weightWith;
+                }
+            }
+        }
+    }
+
+    private static Set<Integer> getBestCombinationFromTable(ScaledItems items, PrimitiveCombinationTable table, int lastRow) {
+        Set<Integer> bestCombination = new HashSet<>();
+        int itemRow = lastRow;
+        int weightColumn = table.getColumns() - 1;
+        while (itemRow > 0 && weightColumn > 0) {
+            if (table.differ(table.index(itemRow, weightColumn), table.index(itemRow - 1, weightColumn))) {
+                bestCombination.add(items.getIds()[itemRow - 1]);
+                weightColumn = weightColumn - items.getWeights()[itemRow - 1];
+            }
+            itemRow--;
+        }
+        return bestCombination;
+    }
+}
@@ -0,0 +1,44 @@
+package com.markort147.services;
+
+import lombok.Getter;
+
+/**
+ * Dynamic programming table stored in flat primitive arrays.
+ * Row {@code i} holds the best combinations using the first {@code i} items, column {@code w} the best combinations
+ * whose rescaled weight does not exceed {@code w}. Each cell is identified by the index {@code i * columns + w}.
+ */
+@Getter
+class PrimitiveCombinationTable {
+
+    private final int rows;
+    private final int columns;
+    private final long[] prices;
+    private final int[] weights;
+
+    /**
+     * Prepares a table for the given number of items and rescaled capacity, with every cell set to the empty combination.
+     * The arrays are taken from the workspace, so they may be longer than the table.
+     *
+     * @param numberOfItems The total number of items to consider.
+     * @param maxWeight     The rescaled capacity of the box.
+     * @param workspace     The workspace of the current thread.
+     */
+    PrimitiveCombinationTable(int numberOfItems, int maxWeight, SolverWorkspace workspace) {
+        rows = numberOfItems + 1;
+        columns = maxWeight + 1;
+        int cells = Math.multiplyExact(rows, columns);
+        prices = workspace.prices(cells);
+        weights = workspace.weights(cells);
+    }
+
+    int index(int row, int column) {
+        return row * columns + column;
+    }
+
+    /**
+     * Checks whether the combinations of two cells differ in price or weight.
+     */
+    boolean differ(int firstIndex, int secondIndex) {
+        return prices[firstIndex] != prices[secondIndex] || weights[firstIndex] != weights[secondIndex];
+    }
+}
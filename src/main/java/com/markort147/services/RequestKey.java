@@ -0,0 +1,61 @@
+package com.markort147.services;
+
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Canonical form of a request, used as key of the {@link ResultCache}.
+ * Two requests have equal keys when they have the same capacity and the same items, regardless of the order
+ * of the items and of trailing zeros in the numbers (e.g. {@code 5} and {@code 5.00}).
+ */
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+final class RequestKey {
+
+    private static final Comparator<Item> ITEM_ORDER = Comparator.comparingInt((Item item) -> item.id)
+            .thenComparing(item -> item.weight)
+            .thenComparing(item -> item.price);
+
+    private final BigDecimal maxWeight;
+    private final List<Item> items;
+
+    private RequestKey(BigDecimal maxWeight, List<Item> items) {
+        this.maxWeight = maxWeight;
+        this.items = items;
+    }
+
+    /**
+     * Builds the canonical form of a validated request.
+     *
+     * @param requestDto The request, with capacity and item fields not null.
+     * @return The key of the request.
+     */
+    static RequestKey of(RequestDto requestDto) {
+        List<Item> items = requestDto.getItems().stream()
+                .map(Item::of)
+                .sorted(ITEM_ORDER)
+                .toList();
+        return new RequestKey(requestDto.getMaxWeight().stripTrailingZeros(), items);
+    }
+
+    @EqualsAndHashCode
+    private static final class Item {
+        private final int id;
+        private final BigDecimal weight;
+        private final BigDecimal price;
+
+        private Item(int id, BigDecimal weight, BigDecimal price) {
+            this.id = id;
+            this.weight = weight;
+            this.price = price;
+        }
+
+        private static Item of(ItemDto itemDto) {
+            return new Item(itemDto.getId(), itemDto.getWeight().stripTrailingZeros(), itemDto.getPrice().stripTrailingZeros());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.markort147.services;
+
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service reducing a request before solving it, by removing the items that can never be in the best combination:
+ * <ul>
+ *     <li>items without a price, which only add weight;</li>
+ *     <li>items heavier than the box;</li>
+ *     <li>dominated items. An item is dominated by another one that is not heavier and not cheaper, and differs
+ *     in at least one of them. Since both may fit in the box together, it is removed only if it does not fit
+ *     together with all its dominating items: then any combination with it misses one of them, which could
+ *     replace it for a better combination.</li>
+ * </ul>
+ * Items without weight but with a price belong to every best combination, so they are moved out of the request
+ * straight into the answer. Finally, the capacity is reduced to the total weight of the remaining items when smaller.
+ * <p>
+ * The removed and forced items and the requests with reduced capacity are counted as metrics.
+ */
+@Log4j2
+@Service
+public class RequestPreprocessor {
+
+    private final Counter pricelessItems;
+    private final Counter oversizeItems;
+    private final Counter dominatedItems;
+    private final Counter forcedItems;
+    private final Counter reducedCapacities;
+
+    /**
+     * Initializes the preprocessor with the registry of its metrics.
+     *
+     * @param meterRegistry Registry of the preprocessing metrics.
+     */
+    @Autowired
+    public RequestPreprocessor(MeterRegistry meterRegistry) {
+        pricelessItems = droppedItemsCounter(meterRegistry, "priceless");
+        oversizeItems = droppedItemsCounter(meterRegistry, "oversize");
+        dominatedItems = droppedItemsCounter(meterRegistry, "dominated");
+        forcedItems = Counter.builder("preprocessing.items.forced")
+                .description("Items without weight added to the answer without solving")
+                .register(meterRegistry);
+        reducedCapacities = Counter.builder("preprocessing.capacity.reduced")
+                .description("Requests whose capacity has been reduced to the total weight of the items")
+                .register(meterRegistry);
+    }
+
+    private static Counter droppedItemsCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("preprocessing.items.dropped")
+                .description("Items removed from the requests before solving")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reduces the request to the items and capacity that matter to the best combination.
+     *
+     * @param requestDto The request containing the items and relevant parameters.
+     * @return The reduced request, together with the items to be added to its solution.
+     */
+    public PreprocessedRequest preprocess(RequestDto requestDto) {
+        BigDecimal maxWeight = requestDto.getMaxWeight();
+        Set<Integer> forced = new HashSet<>();
+        List<ItemDto> candidates = new ArrayList<>();
+        for (ItemDto item : requestDto.getItems()) {
+            if (item.getPrice().signum() == 0) {
+                pricelessItems.increment();
+            } else if (item.getWeight().compareTo(maxWeight) > 0) {
+                oversizeItems.increment();
+            } else if (item.getWeight().signum() == 0) {
+                forced.add(item.getId());
+            } else {
+                candidates.add(item);
+            }
+        }
+        forcedItems.increment(forced.size());
+
+        List<ItemDto> remaining = removeDominated(candidates, maxWeight);
+        BigDecimal totalWeight = remaining.stream().map(ItemDto::getWeight).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal capacity = maxWeight;
+        if (totalWeight.compareTo(maxWeight) < 0) {
+            capacity = totalWeight;
+            reducedCapacities.increment();
+        }
+
+        RequestDto reducedRequest = new RequestDto();
+        reducedRequest.setMaxWeight(capacity);
+        reducedRequest.setItems(remaining);
+        log.debug("RequestPreprocessor.preprocess(). items={}, remaining={}, forced={}, capacity={}", requestDto.getItems().size(), remaining.size(), forced, capacity);
+        return new PreprocessedRequest(reducedRequest, forced);
+    }
+
+    private List<ItemDto> removeDominated(List<ItemDto> items, BigDecimal maxWeight) {
+        List<ItemDto> remaining = new ArrayList<>();
+        for (ItemDto item : items) {
+            if (fitsWithItsDominatingItems(item, items, maxWeight)) {
+                remaining.add(item);
+            } else {
+                dominatedItems.increment();
+            }
+        }
+        return remaining;
+    }
+
+    private static boolean fitsWithItsDominatingItems(ItemDto item, List<ItemDto> items, BigDecimal maxWeight) {
+        BigDecimal totalWeight = item.getWeight();
+        for (ItemDto other : items) {
+            if (dominates(other, item)) {
+                totalWeight = totalWeight.add(other.getWeight());
+                if (totalWeight.compareTo(maxWeight) > 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean dominates(ItemDto item, ItemDto other) {
+        int weightComparison = item.getWeight().compareTo(other.getWeight());
+        int priceComparison = item.getPrice().compareTo(other.getPrice());
+        return weightComparison <= 0 && priceComparison >= 0 && (weightComparison < 0 || priceComparison > 0);
+    }
+}
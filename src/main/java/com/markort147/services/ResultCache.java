@@ -0,0 +1,71 @@
+package com.markort147.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-process cache of the best combinations, keyed on the canonical form of the requests ({@link RequestKey}),
+ * so that a request repeated with the items in a different order is not solved again.
+ * <p>
+ * Only optimal combinations are stored. When several combinations have the best price and weight, a hit returns
+ * the one found for the first request, which may differ from the one the solvers would find with another order.
+ * <p>
+ * Hits, misses, evictions and size are recorded by the {@code cache.*} metrics with tag {@code cache=solver.results}.
+ */
+@Service
+public class ResultCache {
+
+    private final boolean enabled;
+    private final Cache<RequestKey, Set<Integer>> cache;
+
+    /**
+     * Initializes the cache with the configured size and expiration, and registers its metrics.
+     *
+     * @param solverConfiguration Configuration of the solvers, providing the settings of the cache.
+     * @param meterRegistry       Registry of the cache metrics.
+     */
+    @Autowired
+    public ResultCache(SolverConfiguration solverConfiguration, MeterRegistry meterRegistry) {
+        SolverConfiguration.Cache configuration = solverConfiguration.getCache();
+        this.enabled = configuration.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuration.getMaximumSize())
+                .expireAfterWrite(configuration.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "solver.results");
+    }
+
+    /**
+     * Computes the key of a request, to be passed to {@link #get(RequestKey)} and {@link #put(RequestKey, Set)}.
+     *
+     * @param requestDto A validated request.
+     * @return The key of the request, empty when the cache is disabled.
+     */
+    Optional<RequestKey> keyOf(RequestDto requestDto) {
+        return enabled ? Optional.of(RequestKey.of(requestDto)) : Optional.empty();
+    }
+
+    /**
+     * @return The best combination stored for the key, or null.
+     */
+    Set<Integer> get(RequestKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stores the optimal combination of the request with the given key.
+     */
+    void put(RequestKey key, Set<Integer> bestCombination) {
+        cache.put(key, Set.copyOf(bestCombination));
+    }
+}
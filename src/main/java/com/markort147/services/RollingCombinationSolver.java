@@ -0,0 +1,152 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.utils.WeightRescaler;
+import com.markort147.utils.WeightScale;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Service computing the best combination of items with a memory-bounded dynamic programming.
+ * Only one row of best prices and weights is kept and updated in place for each item, while a bitset records
+ * for every cell whether the item has been taken. The bitset is enough to rebuild the combination,
+ * so memory drops from twelve bytes to one bit per cell.
+ * It returns the same combinations of the {@link PrimitiveCombinationSolver}.
+ * The row and the bitset are reused across the solves of a thread through the {@link SolverWorkspace}.
+ * The {@link SolveDeadline} is checked before each item.
+ */
+@Log4j2
+@Service
+public class RollingCombinationSolver implements CombinationSolver {
+
+    private final WeightRescaler weightRescaler;
+
+    /**
+     * Initializes the solver with a weight rescaler.
+     *
+     * @param weightRescaler Component for rescaling item weights.
+     */
+    @Autowired
+    public RollingCombinationSolver(WeightRescaler weightRescaler) {
+        this.weightRescaler = weightRescaler;
+    }
+
+    @Override
+    public SolverConfiguration.Engine getEngine() {
+        return SolverConfiguration.Engine.ROLLING;
+    }
+
+    @Override
+    public Set<Integer> getBestCombination(RequestDto requestDto) {
+        return solve(requestDto, SolveDeadline.none()).getItems();
+    }
+
+    /**
+     * Updates the row item by item until the deadline passes. A stopped solve returns the best combination
+     * of the items processed so far.
+     */
+    @Override
+    public Solution solve(RequestDto requestDto, SolveDeadline deadline) {
+        long start = System.nanoTime();
+        ScaledItems items = ScaledItems.of(requestDto, weightRescaler);
+        int columns = items.getCapacity() + 1;
+        SolverWorkspace workspace = SolverWorkspace.current();
+        long[] takenBits = workspace.bits(Math.toIntExact((items.size() * (long) columns + Long.SIZE - 1) / Long.SIZE));
+        int processedItems = fillRow(items, columns, workspace.prices(columns), workspace.weights(columns), takenBits, deadline);
+        long built = System.nanoTime();
+        boolean timedOut = processedItems < items.size();
+        Set<Integer> bestCombination = getBestCombinationFromBits(items, columns, takenBits, processedItems);
+        Solution solution = new Solution(bestCombination, !timedOut, timedOut ? getWork(items, columns, processedItems) : Solution.UNCOUNTED, timedOut, built - start, System.nanoTime() - built);
+        log.debug("RollingCombinationSolver.solve(). solution={}", solution);
+        return solution;
+    }
+
+    /**
+     * @return The number of cells updated: for each item, the columns from its weight up to the capacity.
+     */
+    @Override
+    public long estimateWork(RequestDto requestDto) {
+        try {
+            WeightScale weightScale = ScaledItems.getWeightScale(requestDto, weightRescaler);
+            int columns = weightScale.rescaleCapacityAsInt(requestDto.getMaxWeight()) + 1;
+            long work = 0;
+            for (ItemDto item : requestDto.getItems()) {
+                work += Math.max(0, columns - Math.max(1, weightScale.rescaleAsInt(item.getWeight())));
+            }
+            return work;
+        } catch (ArithmeticException arithmeticException) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return The cells of the row, plus the bitset in cells of twelve bytes.
+     */
+    @Override
+    public long estimateCells(RequestDto requestDto) {
+        try {
+            long columns = ScaledItems.getWeightScale(requestDto, weightRescaler).rescaleCapacityAsInt(requestDto.getMaxWeight()) + 1L;
+            return columns + requestDto.getItems().size() * columns / 96;
+        } catch (ArithmeticException arithmeticException) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return The number of items processed.
+     */
+    private static int fillRow(ScaledItems items, int columns, long[] prices, int[] weights, long[] takenBits, SolveDeadline deadline) {
+        for (int item = 0; item < items.size(); item++) {
+            if (deadline.isExpired()) return item;
+            int itemWeight = items.getWeights()[item];
+            long itemPrice = items.getPrices()[item];
+            long rowOffset = item * (long) columns;
+            for (int column = columns - 1; column >= Math.max(1, itemWeight); column--) {
+                long priceWith = prices[column - itemWeight] + itemPrice;
+                int weightWith = weights[column - itemWeight] + itemWeight;
+                if (priceWith > prices[column] || (priceWith == prices[column] && weightWith < weights[column])) {
+                    prices[column] = priceWith;
+                    weights[column] = weightWith;
+                    setBit(takenBits, rowOffset + column);
+                }
+            }
+        }
+        return items.size();
+    }
+
+    private static long getWork(ScaledItems items, int columns, int processedItems) {
+        long work = 0;
+        for (int item = 0; item < processedItems; item++) {
+            work += Math.max(0, columns - Math.max(1, items.getWeights()[item]));
+        }
+        return work;
+    }
+
+    private static Set<Integer> getBestCombinationFromBits(ScaledItems items, int columns, long[] takenBits, int processedItems) {
+        Set<Integer> bestCombination = new HashSet<>();
+        int item = processedItems - 1;
+        int weightColumn = columns - 1;
+        while (item >= 0 && weightColumn > 0) {
+            if (getBit(takenBits, item * (long) columns + weightColumn)) {
+                bestCombination.add(items.getIds()[item]);
+                weightColumn = weightColumn - items.getWeights()[item];
+            }
+            item--;
+        }
+        return bestCombination;
+    }
+
+    private static void setBit(long[] bits, long index) {
+        bits[(int) (index >>> 6)] |= 1L << index;
+    }
+
+    private static boolean getBit(long[] bits, long index) {
+        return (bits[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+}
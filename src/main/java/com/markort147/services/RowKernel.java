@@ -0,0 +1,24 @@
+package com.markort147.services;
+
+/**
+ * Update of a range of columns of a row of the {@link VectorCombinationSolver} table.
+ * Each cell holds the key {@code price * columns - weight} of its best combination, so that the best of two
+ * combinations is the one with the largest key: the highest price and, for the same price, the lowest weight.
+ */
+interface RowKernel {
+
+    /**
+     * Sets each cell of the row to the largest between the key of the cell above and the key of the cell above
+     * {@code itemWeight} columns to the left, increased by the key of the item.
+     * Every column of the range must not be lower than {@code itemWeight}.
+     *
+     * @param keys             The table of keys.
+     * @param previousRowStart The index of the first cell of the previous row.
+     * @param rowStart         The index of the first cell of the row.
+     * @param itemWeight       The rescaled weight of the item of the row.
+     * @param itemKey          The key of the item of the row.
+     * @param fromColumn       The first column to update, inclusive.
+     * @param toColumn         The last column to update, exclusive.
+     */
+    void fill(long[] keys, int previousRowStart, int rowStart, int itemWeight, long itemKey, int fromColumn, int toColumn);
+}
@@ -0,0 +1,14 @@
+package com.markort147.services;
+
+/**
+ * {@link RowKernel} updating one column at a time, used when the Vector API is not available.
+ */
+final class ScalarRowKernel implements RowKernel {
+
+    @Override
+    public void fill(long[] keys, int previousRowStart, int rowStart, int itemWeight, long itemKey, int fromColumn, int toColumn) {
+        for (int column = fromColumn; column < toColumn; column++) {
+            keys[rowStart + column] = Math.max(keys[previousRowStart + column], keys[previousRowStart + column - itemWeight] + itemKey);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.markort147.services;
+
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.utils.WeightRescaler;
+import com.markort147.utils.WeightScale;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Primitive view of the items and capacity of a request.
+ * Weights are rescaled to integers by the {@link WeightScale} of the request, prices are scaled to longs
+ * by the smallest power of ten that makes every price of the request an integer.
+ */
+@Getter
+class ScaledItems {
+
+    private final int[] ids;
+    private final int[] weights;
+    private final long[] prices;
+    private final int priceScale;
+    private final int capacity;
+
+    private ScaledItems(int[] ids, int[] weights, long[] prices, int priceScale, int capacity) {
+        this.ids = ids;
+        this.weights = weights;
+        this.prices = prices;
+        this.priceScale = priceScale;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Converts the items and the capacity of the request into their primitive representation.
+     *
+     * @param requestDto     Request data containing items and weight constraints.
+     * @param weightRescaler Component computing the scale of the weights of the request.
+     * @return The scaled items, in the same order of the request.
+     * @throws ArithmeticException if the sum of the scaled prices does not fit in a long.
+     */
+    static ScaledItems of(RequestDto requestDto, WeightRescaler weightRescaler) {
+        List<ItemDto> items = requestDto.getItems();
+        WeightScale weightScale = getWeightScale(requestDto, weightRescaler);
+        int priceScale = getCommonPriceScale(items);
+        int[] ids = new int[items.size()];
+        int[] weights = new int[items.size()];
+        long[] prices = new long[items.size()];
+        long totalPrice = 0;
+        for (int i = 0; i < items.size(); i++) {
+            ItemDto item = items.get(i);
+            ids[i] = item.getId();
+            weights[i] = weightScale.rescaleAsInt(item.getWeight());
+            prices[i] = item.getPrice().movePointRight(priceScale).longValueExact();
+            totalPrice = Math.addExact(totalPrice, prices[i]);
+        }
+        return new ScaledItems(ids, weights, prices, priceScale, weightScale.rescaleCapacityAsInt(requestDto.getMaxWeight()));
+    }
+
+    /**
+     * Computes the scale of the weights of the request.
+     *
+     * @param requestDto     Request data containing items and weight constraints.
+     * @param weightRescaler Component computing the scale of the weights.
+     * @return The smallest scale keeping the item weights exact.
+     */
+    static WeightScale getWeightScale(RequestDto requestDto, WeightRescaler weightRescaler) {
+        return weightRescaler.getScale(requestDto.getItems().stream().map(ItemDto::getWeight).toList());
+    }
+
+    private static int getCommonPriceScale(List<ItemDto> items) {
+        int priceScale = 0;
+        for (ItemDto item : items) {
+            priceScale = Math.max(priceScale, item.getPrice().scale());
+        }
+        return priceScale;
+    }
+
+    /**
+     * @return The number of items.
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Converts a scaled price back to its decimal value.
+     *
+     * @param scaledPrice A price expressed in the scale of these items.
+     * @return The decimal value of the price.
+     */
+    BigDecimal unscalePrice(long scaledPrice) {
+        return BigDecimal.valueOf(scaledPrice, priceScale);
+    }
+}
@@ -0,0 +1,11 @@
+package com.markort147.services;
+
+/**
+ * Thrown when a session does not exist, because it has never been created or it has expired, been evicted or been deleted.
+ */
+public class SessionNotFoundException extends RuntimeException {
+
+    public SessionNotFoundException(String sessionId) {
+        super("Session " + sessionId + " not found.");
+    }
+}
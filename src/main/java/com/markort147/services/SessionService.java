@@ -0,0 +1,218 @@
+package com.markort147.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.markort147.configs.ConstraintsConfiguration;
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.models.ResponseDto;
+import com.markort147.models.SessionResponseDto;
+import com.markort147.utils.WeightRescaler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Provides sessions keeping the solved table of an item list between requests, for clients re-submitting
+ * the same items with small changes:
+ * <ul>
+ *     <li>appending items computes the rows of the new items only;</li>
+ *     <li>removing an item keeps the rows of the items before it;</li>
+ *     <li>a capacity up to the one of the session is answered from the last row, without computing anything.</li>
+ * </ul>
+ * Sessions expire after {@code solver.session.time-to-live} without use, cannot grow beyond
+ * {@code solver.session.max-cells} cells nor {@code constraint.items.max-number} items, and the least recently used
+ * are evicted when all together exceed {@code solver.session.max-total-cells} cells.
+ * The number of sessions and their evictions are recorded by the {@code cache.*} metrics with tag {@code cache=solver.sessions}.
+ * <p>
+ * Appending and removing items are charged the cells of the table by the {@link AdmissionController}
+ * and computed on the {@link SolverExecutor}, like the solves of single requests.
+ */
+@Log4j2
+@Service
+public class SessionService {
+
+    private final WeightRescaler weightRescaler;
+    private final ConstraintsConfiguration constraintsConfiguration;
+    private final SolverConfiguration.Session configuration;
+    private final AdmissionController admissionController;
+    private final SolverExecutor solverExecutor;
+    private final Cache<String, SolverSession> sessions;
+
+    /**
+     * Initializes the service with necessary dependencies and the configured limits of the sessions.
+     *
+     * @param weightRescaler           Component providing the scale of the weights of the sessions.
+     * @param constraintsConfiguration Configuration providing the maximum number of items of a session.
+     * @param solverConfiguration      Configuration of the solvers, providing the limits of the sessions.
+     * @param admissionController      Service bounding the work of the requests being solved.
+     * @param solverExecutor           Pool of threads running the solves.
+     * @param meterRegistry            Registry of the session metrics.
+     */
+    @Autowired
+    public SessionService(WeightRescaler weightRescaler, ConstraintsConfiguration constraintsConfiguration, SolverConfiguration solverConfiguration,
+                          AdmissionController admissionController, SolverExecutor solverExecutor, MeterRegistry meterRegistry) {
+        this.weightRescaler = weightRescaler;
+        this.constraintsConfiguration = constraintsConfiguration;
+        this.configuration = solverConfiguration.getSession();
+        this.admissionController = admissionController;
+        this.solverExecutor = solverExecutor;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(configuration.getTimeToLive())
+                .maximumWeight(configuration.getMaxTotalCells())
+                .weigher((String id, SolverSession session) -> session.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "solver.sessions");
+    }
+
+    /**
+     * Creates a session solving the items of a validated request.
+     *
+     * @param requestDto The request containing the items and the capacity of the session.
+     * @return The best combination of the items, with the identifier of the session.
+     */
+    public SessionResponseDto create(RequestDto requestDto) {
+        SolverSession session = new SolverSession(UUID.randomUUID().toString(), requestDto.getMaxWeight(), weightRescaler.getConfiguredScale(),
+                constraintsConfiguration.getItems().getMaxNumber(), configuration.getMaxCells());
+        append(session, requestDto.getItems());
+        sessions.put(session.getId(), session);
+        log.info("SessionService.create(). sessionId=" + session.getId() + ", cells=" + session.getTable().allocatedCells());
+        SessionResponseDto response = new SessionResponseDto();
+        response.setSessionId(session.getId());
+        response.setItems(session.getBestCombination(session.getMaxWeight()));
+        response.setOptimal(true);
+        return response;
+    }
+
+    /**
+     * Appends validated items to a session.
+     *
+     * @param sessionId The identifier of the session.
+     * @param items     The items to append.
+     * @return The best combination of all the items of the session for its capacity.
+     */
+    public ResponseDto append(String sessionId, List<ItemDto> items) {
+        SolverSession session = getSession(sessionId);
+        synchronized (session) {
+            append(session, items);
+            sessions.asMap().replace(sessionId, session);
+            return buildResponse(session.getBestCombination(session.getMaxWeight()));
+        }
+    }
+
+    /**
+     * Removes an item from a session.
+     *
+     * @param sessionId The identifier of the session.
+     * @param itemId    The identifier of the item to remove.
+     * @return The best combination of the remaining items of the session for its capacity.
+     */
+    public ResponseDto remove(String sessionId, int itemId) {
+        SolverSession session = getSession(sessionId);
+        synchronized (session) {
+            int item = session.getTable().indexOf(itemId);
+            if (item < 0) throw new InvalidSessionOperationException("Item " + itemId + " not found in session " + sessionId + ".");
+            solve(session.getTable().allocatedCells(), () -> session.getTable().remove(item));
+            return buildResponse(session.getBestCombination(session.getMaxWeight()));
+        }
+    }
+
+    /**
+     * Finds the best combination of the items of a session for its capacity.
+     *
+     * @param sessionId The identifier of the session.
+     * @return The best combination of the items of the session for its capacity.
+     */
+    public ResponseDto getBestCombination(String sessionId) {
+        SolverSession session = getSession(sessionId);
+        synchronized (session) {
+            return buildResponse(session.getBestCombination(session.getMaxWeight()));
+        }
+    }
+
+    /**
+     * Finds the best combination of the items of a session for a capacity up to the one of the session.
+     *
+     * @param sessionId The identifier of the session.
+     * @param maxWeight The capacity of the box.
+     * @return The best combination of the items of the session for the given capacity.
+     */
+    public ResponseDto getBestCombination(String sessionId, BigDecimal maxWeight) {
+        SolverSession session = getSession(sessionId);
+        if (maxWeight.signum() < 0 || maxWeight.compareTo(session.getMaxWeight()) > 0) {
+            throw new InvalidSessionOperationException("invalid box weight=" + maxWeight + ". Weight must be between 0 and the one of the session, " + session.getMaxWeight() + ".");
+        }
+        synchronized (session) {
+            return buildResponse(session.getBestCombination(maxWeight));
+        }
+    }
+
+    /**
+     * Deletes a session, releasing its table.
+     *
+     * @param sessionId The identifier of the session.
+     */
+    public void delete(String sessionId) {
+        if (sessions.asMap().remove(sessionId) == null) throw new SessionNotFoundException(sessionId);
+    }
+
+    private SolverSession getSession(String sessionId) {
+        SolverSession session = sessions.getIfPresent(sessionId);
+        if (session == null) throw new SessionNotFoundException(sessionId);
+        return session;
+    }
+
+    /**
+     * Appends items to a session, checking all of them before appending the first one,
+     * so that a rejected list leaves the session unchanged.
+     */
+    private void append(SolverSession session, List<ItemDto> items) {
+        IncrementalCombinationTable table = session.getTable();
+        int numberOfItems = table.size() + items.size();
+        if (numberOfItems > constraintsConfiguration.getItems().getMaxNumber()) {
+            throw new InvalidSessionOperationException("Session would have " + numberOfItems + " items. Sessions must have at most " + constraintsConfiguration.getItems().getMaxNumber() + " items.");
+        }
+        if (table.cells(numberOfItems) > configuration.getMaxCells()) {
+            throw new InvalidSessionOperationException("Session would have " + table.cells(numberOfItems) + " cells. Sessions must have at most " + configuration.getMaxCells() + " cells.");
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (ItemDto item : items) {
+            if (!ids.add(item.getId()) || table.indexOf(item.getId()) >= 0) {
+                throw new InvalidSessionOperationException("Item " + item.getId() + " is duplicated. Items of a session must have distinct IDs.");
+            }
+        }
+        if (!table.canAppend(items.stream().map(ItemDto::getPrice).toList())) {
+            throw new InvalidSessionOperationException("Session prices would overflow. The total price of a session, without decimal point, must fit in a long.");
+        }
+        solve(table.cells(numberOfItems), () -> items.forEach(session::append));
+    }
+
+    /**
+     * Computes rows of a session table on a solver thread, once admitted.
+     */
+    private void solve(long cells, Runnable solve) {
+        try (AdmissionController.Admission admission = admissionController.admit(cells)) {
+            solverExecutor.execute(() -> {
+                solve.run();
+                return null;
+            });
+        }
+    }
+
+    private static ResponseDto buildResponse(Set<Integer> bestCombination) {
+        ResponseDto response = new ResponseDto();
+        response.setItems(bestCombination);
+        response.setOptimal(true);
+        return response;
+    }
+}
@@ -0,0 +1,91 @@
+package com.markort147.services;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Represents the outcome of a solver: the combination found, whether it is proven to be the best one,
+ * the units of work counted while finding it, in the units of {@link CombinationSolver#estimateWork},
+ * whether the solver was stopped by the {@link SolveDeadline} and, for the dynamic programming solvers,
+ * the time spent building the table and backtracking it.
+ * <p>
+ * The work is counted only when it is not fixed by the shape of the request, e.g. the nodes of a search or the cells
+ * filled before the deadline: a completed table always has the estimated cells, so its work is {@link #UNCOUNTED}.
+ */
+@Getter
+public class Solution {
+
+    /**
+     * Work of a solution whose solver did not count it.
+     */
+    public static final long UNCOUNTED = -1;
+
+    private final Set<Integer> items;
+    private final boolean optimal;
+    private final long work;
+    private final boolean timedOut;
+    private final long buildNanos;
+    private final long backtrackNanos;
+
+    /**
+     * Constructor for initializing a solution.
+     *
+     * @param items   The set of item IDs of the combination found.
+     * @param optimal Whether the combination is proven to be the best one.
+     * @param work    The units of work counted by the solver, or {@link #UNCOUNTED}.
+     */
+    public Solution(Set<Integer> items, boolean optimal, long work) {
+        this(items, optimal, work, false);
+    }
+
+    /**
+     * Constructor for initializing a solution, possibly cut short by the deadline.
+     *
+     * @param items    The set of item IDs of the combination found.
+     * @param optimal  Whether the combination is proven to be the best one.
+     * @param work     The units of work counted by the solver, or {@link #UNCOUNTED}.
+     * @param timedOut Whether the solver was stopped by the deadline before completing the solve.
+     */
+    public Solution(Set<Integer> items, boolean optimal, long work, boolean timedOut) {
+        this(items, optimal, work, timedOut, -1, -1);
+    }
+
+    /**
+     * Constructor for initializing a solution of a solver building a table and then backtracking it.
+     *
+     * @param items          The set of item IDs of the combination found.
+     * @param optimal        Whether the combination is proven to be the best one.
+     * @param work           The units of work counted by the solver, or {@link #UNCOUNTED}.
+     * @param timedOut       Whether the solver was stopped by the deadline before completing the solve.
+     * @param buildNanos     The nanoseconds spent building the table.
+     * @param backtrackNanos The nanoseconds spent backtracking the table.
+     */
+    public Solution(Set<Integer> items, boolean optimal, long work, boolean timedOut, long buildNanos, long backtrackNanos) {
+        this.items = items;
+        this.optimal = optimal;
+        this.work = work;
+        this.timedOut = timedOut;
+        this.buildNanos = buildNanos;
+        this.backtrackNanos = backtrackNanos;
+    }
+
+    /**
+     * @return Whether the solver counted its work.
+     */
+    public boolean hasWork() {
+        return work != UNCOUNTED;
+    }
+
+    /**
+     * @return Whether the solver reported the time of its build and backtrack phases.
+     */
+    public boolean hasPhases() {
+        return buildNanos >= 0 && backtrackNanos >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "[items:" + items + ", optimal:" + optimal + ", work:" + work + ", timedOut:" + timedOut + "]";
+    }
+}
@@ -0,0 +1,52 @@
+package com.markort147.services;
+
+import java.time.Duration;
+
+/**
+ * Represents the point in time by which a solve must complete.
+ * Solvers that can be stopped check it between units of work, e.g. the rows of a table, and once it has passed
+ * they return the best combination found so far instead of completing the solve.
+ */
+public final class SolveDeadline {
+
+    private static final SolveDeadline NONE = new SolveDeadline(false, 0);
+
+    private final boolean bounded;
+    private final long nanoTime;
+
+    private SolveDeadline(boolean bounded, long nanoTime) {
+        this.bounded = bounded;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return A deadline that never passes.
+     */
+    public static SolveDeadline none() {
+        return NONE;
+    }
+
+    /**
+     * @param timeout The time left to the solve, zero or null for no deadline.
+     * @return The deadline {@code timeout} after now.
+     */
+    public static SolveDeadline after(Duration timeout) {
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) return NONE;
+        return new SolveDeadline(true, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * @return Whether the deadline has passed.
+     */
+    public boolean isExpired() {
+        return bounded && System.nanoTime() - nanoTime >= 0;
+    }
+
+    /**
+     * @param otherNanoTime Another deadline, as a value of {@link System#nanoTime()}.
+     * @return The earliest between this deadline and the other one, as a value of {@link System#nanoTime()}.
+     */
+    long earliest(long otherNanoTime) {
+        return bounded && otherNanoTime - nanoTime > 0 ? nanoTime : otherNanoTime;
+    }
+}
@@ -0,0 +1,19 @@
+package com.markort147.services;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the solve of a request has been stopped at the deadline and the configuration rejects such requests.
+ */
+@Getter
+public class SolveTimeoutException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public SolveTimeoutException(Duration timeout, Duration retryAfter) {
+        super("Solve not completed within " + timeout.toMillis() + " ms.");
+        this.retryAfter = retryAfter;
+    }
+}
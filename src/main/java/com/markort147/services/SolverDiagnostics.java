@@ -0,0 +1,228 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.ThreadContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Diagnostics of the solves, kept out of the loops over the cells so that they cost nothing per cell.
+ * <ul>
+ *     <li>A summary event is logged at info level for every solve, when {@code solver.diagnostics.summaries} is set:
+ *     engine, items, work, duration of the phases and outcome. Its level can be set on its own with
+ *     {@code logging.level.com.markort147.services.SolverDiagnostics}.</li>
+ *     <li>The same fields are added to the {@link ThreadContext} of the thread serving an HTTP request, marked by the
+ *     key {@link #REQUEST_ID}, so that they are written with the access event of the request.</li>
+ *     <li>The matrix of a solve of the matrix engine is written to a CSV file, one line per cell, for a fraction
+ *     {@code solver.diagnostics.matrix-dump.sample-rate} of its solves, or for its next solves requested through
+ *     {@link #requestMatrixDumps(int)}, at most {@value #MAX_REQUESTED_MATRIX_DUMPS} at a time. Solves of the other
+ *     engines build no matrix, so they are never dumped, and solves whose matrix exceeds
+ *     {@code solver.diagnostics.matrix-dump.max-cells} are not dumped either. The files are written by a thread of
+ *     their own, with at most {@value #MAX_PENDING_MATRIX_DUMPS} matrices waiting, so that the solver threads never
+ *     wait for a dump.</li>
+ * </ul>
+ */
+@Log4j2
+@Service
+public class SolverDiagnostics {
+
+    /**
+     * Key of the {@link ThreadContext} identifying the HTTP request served by the current thread.
+     */
+    public static final String REQUEST_ID = "requestId";
+
+    /**
+     * Maximum number of matrix dumps requested and not yet done.
+     */
+    public static final int MAX_REQUESTED_MATRIX_DUMPS = 100;
+
+    /**
+     * Maximum number of matrices waiting to be written; further dumps are skipped.
+     */
+    static final int MAX_PENDING_MATRIX_DUMPS = 4;
+
+    private final boolean summaries;
+    private final SolverConfiguration.Diagnostics.MatrixDump matrixDump;
+    private final AtomicInteger requestedMatrixDumps = new AtomicInteger();
+    private final AtomicLong matrixDumpSequence = new AtomicLong();
+    private final Executor matrixDumpExecutor;
+
+    /**
+     * Initializes the diagnostics with the configured settings and starts the thread writing the dumps.
+     *
+     * @param solverConfiguration Configuration of the solvers, providing the settings of the diagnostics.
+     */
+    @Autowired
+    public SolverDiagnostics(SolverConfiguration solverConfiguration) {
+        this(solverConfiguration, createMatrixDumpExecutor());
+    }
+
+    SolverDiagnostics(SolverConfiguration solverConfiguration, Executor matrixDumpExecutor) {
+        this.summaries = solverConfiguration.getDiagnostics().isSummaries();
+        this.matrixDump = solverConfiguration.getDiagnostics().getMatrixDump();
+        this.matrixDumpExecutor = matrixDumpExecutor;
+    }
+
+    private static ExecutorService createMatrixDumpExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("matrix-dump-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_PENDING_MATRIX_DUMPS), threadFactory);
+    }
+
+    /**
+     * Logs the summary event of a solve and adds its fields to the context of the HTTP request being served, if any.
+     *
+     * @param engine         The engine that solved the request.
+     * @param requestDto     The request solved, after preprocessing.
+     * @param estimatedWork  The units of work estimated by the dispatcher.
+     * @param solution       The solution found.
+     * @param durationNanos  The duration of the solve.
+     */
+    void summarize(String engine, RequestDto requestDto, long estimatedWork, Solution solution, long durationNanos) {
+        if (ThreadContext.containsKey(REQUEST_ID)) addToRequestContext(engine, solution, durationNanos);
+        if (!summaries || !log.isInfoEnabled()) return;
+        log.info("SolverDiagnostics.summarize(). engine=" + engine
+                + ", items=" + requestDto.getItems().size()
+                + ", maxWeight=" + requestDto.getMaxWeight()
+                + ", estimatedWork=" + estimatedWork
+                + (solution.hasWork() ? ", work=" + solution.getWork() : "")
+                + ", durationMicros=" + TimeUnit.NANOSECONDS.toMicros(durationNanos)
+                + (solution.hasPhases() ? ", buildMicros=" + TimeUnit.NANOSECONDS.toMicros(solution.getBuildNanos())
+                + ", backtrackMicros=" + TimeUnit.NANOSECONDS.toMicros(solution.getBacktrackNanos()) : "")
+                + ", optimal=" + solution.isOptimal()
+                + ", timedOut=" + solution.isTimedOut());
+    }
+
+    private static void addToRequestContext(String engine, Solution solution, long durationNanos) {
+        ThreadContext.put("engine", engine);
+        if (solution.hasWork()) ThreadContext.put("work", Long.toString(solution.getWork()));
+        ThreadContext.put("solveMicros", Long.toString(TimeUnit.NANOSECONDS.toMicros(durationNanos)));
+        if (solution.hasPhases()) {
+            ThreadContext.put("buildMicros", Long.toString(TimeUnit.NANOSECONDS.toMicros(solution.getBuildNanos())));
+            ThreadContext.put("backtrackMicros", Long.toString(TimeUnit.NANOSECONDS.toMicros(solution.getBacktrackNanos())));
+        }
+        ThreadContext.put("optimal", Boolean.toString(solution.isOptimal()));
+        ThreadContext.put("timedOut", Boolean.toString(solution.isTimedOut()));
+    }
+
+    /**
+     * Requests the matrices of the next solves to be dumped, up to {@value #MAX_REQUESTED_MATRIX_DUMPS} dumps still to do.
+     *
+     * @param count The number of matrices to dump.
+     * @return The number of matrices still to dump.
+     */
+    public int requestMatrixDumps(int count) {
+        return requestedMatrixDumps.updateAndGet(requested -> (int) Math.min(MAX_REQUESTED_MATRIX_DUMPS, (long) requested + Math.max(0, count)));
+    }
+
+    /**
+     * @return The number of matrices still to dump on request.
+     */
+    public int getRequestedMatrixDumps() {
+        return requestedMatrixDumps.get();
+    }
+
+    /**
+     * @return The settings of the dumps of the matrices.
+     */
+    public SolverConfiguration.Diagnostics.MatrixDump getMatrixDumpSettings() {
+        return matrixDump;
+    }
+
+    /**
+     * Decides whether the matrix of the current solve is dumped, consuming a requested dump if any.
+     *
+     * @param cells The number of cells of the matrix of the request.
+     * @return Whether the matrix is dumped, false if it has more than the maximum cells.
+     */
+    boolean shouldDumpMatrix(long cells) {
+        if (cells > matrixDump.getMaxCells()) return false;
+        if (requestedMatrixDumps.get() > 0 && requestedMatrixDumps.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+            return true;
+        }
+        return matrixDump.getSampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < matrixDump.getSampleRate();
+    }
+
+    /**
+     * Writes a matrix to a new CSV file of the dump directory, see {@link #dumpMatrix}, on the thread of the dumps.
+     * The matrix must not be changed afterward. If too many matrices are waiting, the matrix is not dumped.
+     *
+     * @param matrix     The matrix built for the request.
+     * @param requestDto The request.
+     */
+    void scheduleMatrixDump(CombinationMatrix matrix, RequestDto requestDto) {
+        try {
+            matrixDumpExecutor.execute(() -> dumpMatrix(matrix, requestDto));
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            log.warn("SolverDiagnostics.scheduleMatrixDump(). Matrix not dumped. pendingDumps=" + MAX_PENDING_MATRIX_DUMPS);
+        }
+    }
+
+    /**
+     * Writes a matrix to a new CSV file of the dump directory: a comment line with the request, a header,
+     * then one line per cell with its row, column, price and rescaled weight.
+     * Failures are logged and not propagated, since a dump must not fail the solve.
+     *
+     * @param matrix     The matrix built for the request.
+     * @param requestDto The request.
+     * @return The file written, empty if the matrix is too large or the file cannot be written.
+     */
+    Optional<Path> dumpMatrix(CombinationMatrix matrix, RequestDto requestDto) {
+        CombinationMatrix.Combination[][] combinations = matrix.getCombinations();
+        long cells = (long) combinations.length * combinations[0].length;
+        if (cells > matrixDump.getMaxCells()) {
+            log.warn("SolverDiagnostics.dumpMatrix(). Matrix not dumped. cells=" + cells + ", maxCells=" + matrixDump.getMaxCells());
+            return Optional.empty();
+        }
+        Path file = matrixDump.getDirectory().resolve("matrix-" + System.currentTimeMillis() + "-" + matrixDumpSequence.incrementAndGet() + ".csv");
+        try {
+            Files.createDirectories(matrixDump.getDirectory());
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                writer.write("# maxWeight=" + requestDto.getMaxWeight() + ", items=");
+                for (ItemDto item : requestDto.getItems()) {
+                    writer.write("[id:" + item.getId() + ", weight:" + item.getWeight() + ", price:" + item.getPrice() + "]");
+                }
+                writer.write("\nrow,column,price,weight\n");
+                for (int row = 0; row < combinations.length; row++) {
+                    for (int column = 0; column < combinations[row].length; column++) {
+                        CombinationMatrix.Combination combination = combinations[row][column];
+                        writer.write(row + "," + column + "," + combination.getPrice().toPlainString() + "," + combination.getWeight() + "\n");
+                    }
+                }
+            }
+        } catch (IOException ioException) {
+            log.warn("SolverDiagnostics.dumpMatrix(). Matrix not dumped. file=" + file, ioException);
+            return Optional.empty();
+        }
+        log.info("SolverDiagnostics.dumpMatrix(). file=" + file + ", cells=" + cells);
+        return Optional.of(file);
+    }
+
+    /**
+     * Stops the thread writing the dumps when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (matrixDumpExecutor instanceof ExecutorService executorService) executorService.shutdown();
+    }
+}
@@ -0,0 +1,151 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Service choosing the solver of each request.
+ * With the {@link SolverConfiguration.Engine#AUTO} engine, the cost of every exact solver having a factor in the
+ * cost model is estimated from the shape of the request (number of items, rescaled capacity, items heavier than
+ * the box) and the cheapest one is chosen. If even the cheapest one exceeds the maximum exact cost, the request
+ * is routed to the branch-and-bound solver. Otherwise, the configured engine is always used.
+ * <p>
+ * The dumps of the {@link SolverDiagnostics} never change the chosen solver: only the requests dispatched to the
+ * matrix solver can have their matrix dumped.
+ */
+@Log4j2
+@Service
+public class SolverDispatcher {
+
+    private final Map<SolverConfiguration.Engine, CombinationSolver> solvers = new EnumMap<>(SolverConfiguration.Engine.class);
+    private final SolverConfiguration solverConfiguration;
+    private final SolverDiagnostics solverDiagnostics;
+
+    /**
+     * Initializes the dispatcher with the available solvers.
+     *
+     * @param combinationSolvers  The available algorithms to find the optimal combination of items.
+     * @param solverConfiguration Configuration selecting the engine and providing the cost model.
+     * @param solverDiagnostics   A service deciding which matrices are dumped.
+     */
+    @Autowired
+    public SolverDispatcher(List<CombinationSolver> combinationSolvers, SolverConfiguration solverConfiguration, SolverDiagnostics solverDiagnostics) {
+        combinationSolvers.forEach(solver -> solvers.put(solver.getEngine(), solver));
+        this.solverConfiguration = solverConfiguration;
+        this.solverDiagnostics = solverDiagnostics;
+        if (solverConfiguration.getEngine() != SolverConfiguration.Engine.AUTO) {
+            getSolver(solverConfiguration.getEngine());
+        }
+    }
+
+    /**
+     * Chooses the solver for the request.
+     *
+     * @param requestDto Request data containing items and weight constraints.
+     * @return The chosen solver with its estimated work.
+     */
+    public Dispatch dispatch(RequestDto requestDto) {
+        Dispatch dispatch = choose(requestDto);
+        if (dispatch.getSolver() instanceof MatrixCombinationSolver && solverDiagnostics.shouldDumpMatrix(dispatch.getEstimatedWork())) {
+            log.debug("SolverDispatcher.dispatch(). engine=MATRIX, matrixDump=true");
+            return new Dispatch(dispatch.getSolver(), dispatch.getEstimatedWork(), true);
+        }
+        return dispatch;
+    }
+
+    private Dispatch choose(RequestDto requestDto) {
+        if (solverConfiguration.getEngine() != SolverConfiguration.Engine.AUTO) {
+            CombinationSolver solver = getSolver(solverConfiguration.getEngine());
+            return new Dispatch(solver, saturate(() -> solver.estimateWork(requestDto)), false);
+        }
+
+        SolverConfiguration.CostModel costModel = solverConfiguration.getCostModel();
+        Dispatch cheapest = null;
+        double cheapestCost = Double.POSITIVE_INFINITY;
+        for (Map.Entry<SolverConfiguration.Engine, Double> factor : costModel.getFactors().entrySet()) {
+            CombinationSolver solver = solvers.get(factor.getKey());
+            if (solver == null || !solver.isExact()) {
+                continue;
+            }
+            long estimatedWork = saturate(() -> solver.estimateWork(requestDto));
+            double cost = estimatedWork == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : estimatedWork * factor.getValue();
+            if (cost < cheapestCost) {
+                cheapest = new Dispatch(solver, estimatedWork, false);
+                cheapestCost = cost;
+            }
+        }
+
+        if (cheapest == null || cheapestCost > costModel.getMaxExactCost()) {
+            CombinationSolver solver = getSolver(SolverConfiguration.Engine.BRANCH_AND_BOUND);
+            cheapest = new Dispatch(solver, saturate(() -> solver.estimateWork(requestDto)), false);
+        }
+        log.debug("SolverDispatcher.dispatch(). engine={}, cost={}", cheapest.getSolver().getEngine(), cheapestCost);
+        return cheapest;
+    }
+
+    /**
+     * Saturates an estimate of a solver: one that overflowed, i.e. negative or not computable, is {@link Long#MAX_VALUE},
+     * so that the solver is never the cheapest one and its request is charged the whole admission budget.
+     */
+    private static long saturate(LongSupplier estimate) {
+        try {
+            long value = estimate.getAsLong();
+            return value < 0 ? Long.MAX_VALUE : value;
+        } catch (ArithmeticException arithmeticException) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private CombinationSolver getSolver(SolverConfiguration.Engine engine) {
+        CombinationSolver solver = solvers.get(engine);
+        if (solver == null) {
+            throw new IllegalStateException("No solver available for engine=" + engine);
+        }
+        return solver;
+    }
+
+    /**
+     * Represents the solver chosen for a request, the work it is expected to spend and whether its matrix is dumped.
+     */
+    @Getter
+    public static class Dispatch {
+        private final CombinationSolver solver;
+        private final long estimatedWork;
+        private final boolean matrixDump;
+
+        Dispatch(CombinationSolver solver, long estimatedWork, boolean matrixDump) {
+            this.solver = solver;
+            this.estimatedWork = estimatedWork;
+            this.matrixDump = matrixDump;
+        }
+
+        /**
+         * @param requestDto The request dispatched.
+         * @return The cells held by the solve of the request, see {@link CombinationSolver#estimateCells}.
+         */
+        public long estimateCells(RequestDto requestDto) {
+            return saturate(() -> solver.estimateCells(requestDto));
+        }
+
+        /**
+         * Solves the request with the chosen solver, dumping its matrix if requested.
+         *
+         * @param requestDto The request dispatched.
+         * @param deadline   The deadline of the solve.
+         * @return The solution found.
+         */
+        public Solution solve(RequestDto requestDto, SolveDeadline deadline) {
+            if (matrixDump) return ((MatrixCombinationSolver) solver).solveAndDump(requestDto);
+            return solver.solve(requestDto, deadline);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool of platform threads running the solves, sized by {@code solver.executor.threads} independently of the threads
+ * serving the requests. The solves are CPU-bound, so at most one per thread of the pool runs at a time however many
+ * requests are being served, e.g. on virtual threads, and the parsing, validation and logging of the other requests
+ * are not starved. The {@link SolverWorkspace} of the solvers is kept by the threads of the pool, and reused by their
+ * solves rather than allocated for each virtual thread.
+ * <p>
+ * Other pools whose threads only solve, such as the one of the batches, make their threads with
+ * {@link #solverThreadFactory(String)}: their solves run on the threads themselves instead of blocking them on this pool.
+ * <p>
+ * The pool is monitored by the {@code executor.*} metrics with tag {@code name=solver}. With
+ * {@code solver.executor.enabled=false}, solves run on the calling threads.
+ */
+@Service
+public class SolverExecutor {
+
+    private final ExecutorService executor;
+
+    /**
+     * Initializes the pool of solver threads.
+     *
+     * @param solverConfiguration Configuration of the solvers, providing the number of solver threads.
+     * @param meterRegistry       Registry of the pool metrics.
+     */
+    @Autowired
+    public SolverExecutor(SolverConfiguration solverConfiguration, MeterRegistry meterRegistry) {
+        if (solverConfiguration.getExecutor().isEnabled()) {
+            this.executor = ExecutorServiceMetrics.monitor(meterRegistry,
+                    Executors.newFixedThreadPool(solverConfiguration.getExecutor().getThreads(), solverThreadFactory("solver-")), "solver");
+        } else {
+            this.executor = null;
+        }
+    }
+
+    private SolverExecutor() {
+        this.executor = null;
+    }
+
+    /**
+     * @return An executor running the solves on the calling threads.
+     */
+    public static SolverExecutor callerRuns() {
+        return new SolverExecutor();
+    }
+
+    /**
+     * Makes daemon solver threads, on which the solves run directly rather than on the pool.
+     *
+     * @param namePrefix The prefix of the names of the threads, followed by their number.
+     * @return The factory of solver threads.
+     */
+    static ThreadFactory solverThreadFactory(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new SolverThread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Runs a solve on a solver thread and waits for it. On a solver thread, the solve runs directly.
+     *
+     * @param solve The solve.
+     * @return The result of the solve.
+     * @throws RuntimeException The exception thrown by the solve, if any.
+     */
+    <T> T execute(Supplier<T> solve) {
+        if (executor == null || Thread.currentThread() instanceof SolverThread) return solve.get();
+        Future<T> future = executor.submit(solve::get);
+        try {
+            return future.get();
+        } catch (ExecutionException executionException) {
+            if (executionException.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (executionException.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(executionException.getCause());
+        } catch (InterruptedException interruptedException) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the solve.", interruptedException);
+        }
+    }
+
+    /**
+     * Stops the solver threads when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) executor.shutdown();
+    }
+
+    private static final class SolverThread extends Thread {
+
+        private SolverThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.markort147.services;
+
+import com.markort147.models.ItemDto;
+import com.markort147.utils.WeightScale;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Solved state of an item list kept by the {@link SessionService} between requests.
+ * Its weights are rescaled by the configured scale, so that any valid item can be appended later.
+ * <p>
+ * A session is not thread-safe: callers synchronize on it.
+ */
+@Getter
+class SolverSession {
+
+    private final String id;
+    private final BigDecimal maxWeight;
+    private final WeightScale weightScale;
+    private final IncrementalCombinationTable table;
+
+    /**
+     * Creates a session without items, whose table grows up to the items fitting in both limits.
+     *
+     * @param id          The identifier of the session.
+     * @param maxWeight   The capacity of the box.
+     * @param weightScale The scale of the weights.
+     * @param maxItems    The maximum number of items of the session.
+     * @param maxCells    The maximum number of cells of the table of the session.
+     */
+    SolverSession(String id, BigDecimal maxWeight, WeightScale weightScale, int maxItems, long maxCells) {
+        this.id = id;
+        this.maxWeight = maxWeight;
+        this.weightScale = weightScale;
+        int columns = weightScale.rescaleCapacityAsInt(maxWeight) + 1;
+        int fittingItems = (int) Math.min(maxItems, Math.max(0, maxCells / columns - 1));
+        this.table = IncrementalCombinationTable.bounded(columns - 1, fittingItems);
+    }
+
+    void append(ItemDto item) {
+        table.append(item.getId(), weightScale.rescaleAsInt(item.getWeight()), item.getPrice());
+    }
+
+    /**
+     * @return The best combination for a capacity up to the one of the session.
+     */
+    Set<Integer> getBestCombination(BigDecimal capacity) {
+        return table.getBestCombination(weightScale.rescaleCapacityAsInt(capacity));
+    }
+
+    /**
+     * @return The weight of the session for the eviction of the sessions, i.e. its allocated cells.
+     */
+    int weight() {
+        return (int) Math.min(Integer.MAX_VALUE, table.allocatedCells());
+    }
+}
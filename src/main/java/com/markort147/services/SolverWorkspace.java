@@ -0,0 +1,62 @@
+package com.markort147.services;
+
+import java.util.Arrays;
+
+/**
+ * Scratch arrays of the dynamic programming solvers, reused by the solves running on the same thread
+ * instead of being allocated for every request.
+ * <p>
+ * Each thread owns its workspace, so a solve must not keep the arrays after returning. Arrays larger than
+ * {@link #MAX_RETAINED_CELLS} are allocated for the single solve and not retained, to bound the memory held
+ * by idle threads.
+ */
+final class SolverWorkspace {
+
+    static final int MAX_RETAINED_CELLS = 1 << 18;
+
+    private static final ThreadLocal<SolverWorkspace> CURRENT = ThreadLocal.withInitial(SolverWorkspace::new);
+
+    private long[] prices = new long[0];
+    private int[] weights = new int[0];
+    private long[] bits = new long[0];
+
+    private SolverWorkspace() {
+    }
+
+    /**
+     * @return The workspace of the current thread.
+     */
+    static SolverWorkspace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return An array of at least {@code length} prices, the first {@code length} set to zero.
+     */
+    long[] prices(int length) {
+        if (length > MAX_RETAINED_CELLS) return new long[length];
+        if (prices.length < length) prices = new long[length];
+        Arrays.fill(prices, 0, length, 0L);
+        return prices;
+    }
+
+    /**
+     * @return An array of at least {@code length} weights, the first {@code length} set to zero.
+     */
+    int[] weights(int length) {
+        if (length > MAX_RETAINED_CELLS) return new int[length];
+        if (weights.length < length) weights = new int[length];
+        Arrays.fill(weights, 0, length, 0);
+        return weights;
+    }
+
+    /**
+     * @return An array of at least {@code length} words of bits, the first {@code length} set to zero.
+     */
+    long[] bits(int length) {
+        if (length > MAX_RETAINED_CELLS) return new long[length];
+        if (bits.length < length) bits = new long[length];
+        Arrays.fill(bits, 0, length, 0L);
+        return bits;
+    }
+}
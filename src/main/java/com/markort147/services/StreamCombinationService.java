@@ -0,0 +1,130 @@
+package com.markort147.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.BatchResultDto;
+import com.markort147.models.StreamRequestDto;
+import com.markort147.models.StreamResultDto;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Provides the processing of streams of newline-delimited JSON requests.
+ * Each line is read and solved on its own by the {@link BatchCombinationService}, and its result is written
+ * as a line as soon as it completes, together with the identifier of the request.
+ * <p>
+ * At most {@code solver.stream.max-in-flight} requests are being solved at the same time: the input is not read
+ * further until one of them completes, so the memory used does not depend on the length of the stream
+ * and a fast producer is slowed down to the pace of the solvers.
+ */
+@Log4j2
+@Service
+public class StreamCombinationService {
+
+    private final BatchCombinationService batchCombinationService;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final int maxInFlight;
+
+    /**
+     * Initializes the service with necessary dependencies.
+     *
+     * @param batchCombinationService Service validating and solving the requests on the pool of solver threads.
+     * @param objectMapper            Mapper reading the requests and writing the results.
+     * @param solverConfiguration     Configuration of the solvers, providing the maximum number of requests in flight.
+     */
+    @Autowired
+    public StreamCombinationService(BatchCombinationService batchCombinationService, ObjectMapper objectMapper, SolverConfiguration solverConfiguration) {
+        this.batchCombinationService = batchCombinationService;
+        this.requestReader = objectMapper.readerFor(StreamRequestDto.class);
+        this.resultWriter = objectMapper.writerFor(StreamResultDto.class);
+        this.maxInFlight = solverConfiguration.getStream().getMaxInFlight();
+    }
+
+    /**
+     * Processes a stream of requests, one JSON object per line, until the end of the input.
+     * Blank lines are skipped and a line that cannot be read gets an error result without identifier.
+     *
+     * @param input  The stream of requests.
+     * @param output The stream where the results are written, in order of completion.
+     * @throws IOException If the input cannot be read or the output cannot be written. The requests in flight are
+     *                     completed before it is thrown, so nothing is written to the output afterward.
+     */
+    public void process(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Exception> writeFailure = new AtomicReference<>();
+        int lineNumber = 0;
+        try {
+            String line;
+            while (writeFailure.get() == null && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                StreamRequestDto request;
+                try {
+                    request = requestReader.readValue(line);
+                } catch (JsonProcessingException jsonProcessingException) {
+                    write(writer, toStreamResult(null, error("Line " + lineNumber + " not valid: " + jsonProcessingException.getOriginalMessage())), writeFailure);
+                    continue;
+                }
+                inFlight.acquireUninterruptibly();
+                batchCombinationService.processAsync(request).whenComplete((result, throwable) -> {
+                    try {
+                        write(writer, toStreamResult(request.getId(), throwable != null ? error(throwable.getMessage()) : result), writeFailure);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            inFlight.acquireUninterruptibly(maxInFlight);
+        }
+        if (writeFailure.get() instanceof IOException ioException) throw ioException;
+        if (writeFailure.get() instanceof RuntimeException runtimeException) throw runtimeException;
+        log.info("StreamCombinationService.process(). lines=" + lineNumber);
+    }
+
+    private void write(Writer writer, StreamResultDto result, AtomicReference<Exception> writeFailure) {
+        try {
+            String json = resultWriter.writeValueAsString(result);
+            synchronized (writer) {
+                writer.write(json);
+                writer.write('\n');
+                writer.flush();
+            }
+        } catch (IOException | RuntimeException exception) {
+            writeFailure.compareAndSet(null, exception);
+        }
+    }
+
+    private static StreamResultDto toStreamResult(String id, BatchResultDto result) {
+        StreamResultDto streamResult = new StreamResultDto();
+        streamResult.setId(id);
+        streamResult.setResponse(result.getResponse());
+        streamResult.setError(result.getError());
+        return streamResult;
+    }
+
+    private static BatchResultDto error(String message) {
+        BatchResultDto result = new BatchResultDto();
+        result.setError(message);
+        return result;
+    }
+}
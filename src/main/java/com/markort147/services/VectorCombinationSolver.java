@@ -0,0 +1,172 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.utils.WeightRescaler;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Service computing the best combination of items with a dynamic programming table whose rows are updated
+ * with the SIMD instructions of the Vector API.
+ * <p>
+ * Price and weight of a combination are packed in a single key, {@code price * columns - weight}: since a
+ * combination never weighs more than the capacity, the largest key has the highest price and, among the
+ * combinations with that price, the lowest weight. The update of a cell becomes a plain maximum, without
+ * branches, which is what lets many columns be updated by one instruction, and it keeps the preference for
+ * the lighter combination of the {@link PrimitiveCombinationSolver}, whose combinations it returns.
+ * <p>
+ * The Vector API is in the incubating {@code jdk.incubator.vector} module, which is only resolved when the JVM is
+ * started with {@code --add-modules jdk.incubator.vector}. Without it, the same table is updated one column at a time.
+ * The table is reused across the solves of a thread through the {@link SolverWorkspace},
+ * and wide rows are filled in parallel column blocks by the {@link ParallelRowFiller}.
+ * The {@link SolveDeadline} is checked before each row.
+ */
+@Log4j2
+@Service
+public class VectorCombinationSolver implements CombinationSolver {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private final WeightRescaler weightRescaler;
+    private final ParallelRowFiller parallelRowFiller;
+    private final RowKernel rowKernel;
+
+    /**
+     * Initializes the solver with a weight rescaler and the fastest row update available in the JVM.
+     *
+     * @param weightRescaler    Component for rescaling item weights.
+     * @param parallelRowFiller Component filling the wide rows in parallel.
+     */
+    @Autowired
+    public VectorCombinationSolver(WeightRescaler weightRescaler, ParallelRowFiller parallelRowFiller) {
+        this(weightRescaler, parallelRowFiller, selectKernel());
+    }
+
+    VectorCombinationSolver(WeightRescaler weightRescaler, ParallelRowFiller parallelRowFiller, RowKernel rowKernel) {
+        this.weightRescaler = weightRescaler;
+        this.parallelRowFiller = parallelRowFiller;
+        this.rowKernel = rowKernel;
+    }
+
+    /**
+     * Chooses the {@link VectorRowKernel} if the {@code jdk.incubator.vector} module is resolved, the {@link ScalarRowKernel} otherwise.
+     * The vector kernel is loaded by name, so that this class can be loaded even without the module.
+     *
+     * @return The row update to use.
+     */
+    static RowKernel selectKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.info("VectorCombinationSolver.selectKernel(). Module " + VECTOR_MODULE + " not resolved, rows are updated without SIMD. Add --add-modules " + VECTOR_MODULE + " to the JVM options to enable it.");
+            return new ScalarRowKernel();
+        }
+        try {
+            RowKernel kernel = (RowKernel) Class.forName("com.markort147.services.VectorRowKernel").getDeclaredConstructor().newInstance();
+            log.info("VectorCombinationSolver.selectKernel(). lanes=" + VectorRowKernel.lanes());
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError exception) {
+            log.warn("VectorCombinationSolver.selectKernel(). Vector API not usable, rows are updated without SIMD. cause=" + exception);
+            return new ScalarRowKernel();
+        }
+    }
+
+    @Override
+    public SolverConfiguration.Engine getEngine() {
+        return SolverConfiguration.Engine.VECTOR;
+    }
+
+    @Override
+    public Set<Integer> getBestCombination(RequestDto requestDto) {
+        return solve(requestDto, SolveDeadline.none()).getItems();
+    }
+
+    /**
+     * Fills the table row by row until the deadline passes. A stopped solve returns the best combination
+     * of the items of the rows filled so far.
+     *
+     * @throws ArithmeticException if the keys of the request do not fit in a long, see {@link #estimateWork(RequestDto)}.
+     */
+    @Override
+    public Solution solve(RequestDto requestDto, SolveDeadline deadline) {
+        long start = System.nanoTime();
+        ScaledItems items = ScaledItems.of(requestDto, weightRescaler);
+        int rows = items.size() + 1;
+        int columns = items.getCapacity() + 1;
+        checkKeysFit(items, columns);
+        long[] keys = SolverWorkspace.current().prices(Math.multiplyExact(rows, columns));
+        int lastRow = fillTable(items, keys, rows, columns, deadline);
+        long built = System.nanoTime();
+        boolean timedOut = lastRow < items.size();
+        Set<Integer> bestCombination = getBestCombinationFromTable(items, keys, lastRow, columns);
+        Solution solution = new Solution(bestCombination, !timedOut, timedOut ? (long) lastRow * items.getCapacity() : Solution.UNCOUNTED, timedOut, built - start, System.nanoTime() - built);
+        log.debug("VectorCombinationSolver.solve(). solution={}", solution);
+        return solution;
+    }
+
+    /**
+     * @return The number of cells filled, i.e. all cells but the first row and column,
+     * or {@link Long#MAX_VALUE} if the total price multiplied by the number of columns does not fit in a long.
+     */
+    @Override
+    public long estimateWork(RequestDto requestDto) {
+        ScaledItems items;
+        try {
+            items = ScaledItems.of(requestDto, weightRescaler);
+            checkKeysFit(items, items.getCapacity() + 1);
+        } catch (ArithmeticException arithmeticException) {
+            return Long.MAX_VALUE;
+        }
+        return (long) items.size() * items.getCapacity();
+    }
+
+    private static void checkKeysFit(ScaledItems items, int columns) {
+        long totalPrice = 0;
+        for (long price : items.getPrices()) {
+            totalPrice = Math.addExact(totalPrice, price);
+        }
+        Math.multiplyExact(totalPrice, columns);
+    }
+
+    /**
+     * @return The last row filled.
+     */
+    private int fillTable(ScaledItems items, long[] keys, int rows, int columns, SolveDeadline deadline) {
+        for (int row = 1; row < rows; row++) {
+            if (deadline.isExpired()) return row - 1;
+            int itemWeight = items.getWeights()[row - 1];
+            long itemKey = items.getPrices()[row - 1] * columns - itemWeight;
+            int previousRowStart = (row - 1) * columns;
+            int rowStart = row * columns;
+            int firstTakenColumn = Math.max(1, itemWeight);
+            parallelRowFiller.fillRow(columns, (fromColumn, toColumn) -> {
+                int copiedToColumn = Math.min(toColumn, firstTakenColumn);
+                if (fromColumn < copiedToColumn) {
+                    System.arraycopy(keys, previousRowStart + fromColumn, keys, rowStart + fromColumn, copiedToColumn - fromColumn);
+                }
+                int updatedFromColumn = Math.max(fromColumn, firstTakenColumn);
+                if (updatedFromColumn < toColumn) {
+                    rowKernel.fill(keys, previousRowStart, rowStart, itemWeight, itemKey, updatedFromColumn, toColumn);
+                }
+            });
+        }
+        return rows - 1;
+    }
+
+    private static Set<Integer> getBestCombinationFromTable(ScaledItems items, long[] keys, int lastRow, int columns) {
+        Set<Integer> bestCombination = new HashSet<>();
+        int itemRow = lastRow;
+        int weightColumn = columns - 1;
+        while (itemRow > 0 && weightColumn > 0) {
+            if (keys[itemRow * columns + weightColumn] != keys[(itemRow - 1) * columns + weightColumn]) {
+                bestCombination.add(items.getIds()[itemRow - 1]);
+                weightColumn = weightColumn - items.getWeights()[itemRow - 1];
+            }
+            itemRow--;
+        }
+        return bestCombination;
+    }
+}
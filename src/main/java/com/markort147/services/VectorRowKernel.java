@@ -0,0 +1,37 @@
+package com.markort147.services;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link RowKernel} updating as many columns per instruction as the preferred vector shape of the platform holds,
+ * e.g. four with AVX2 and eight with AVX-512. The columns left over at the end of the range are updated one at a time.
+ * <p>
+ * This class links against the incubating {@code jdk.incubator.vector} module, so it must be loaded only
+ * when the module has been added to the JVM, see {@link VectorCombinationSolver#selectKernel()}.
+ */
+final class VectorRowKernel implements RowKernel {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public void fill(long[] keys, int previousRowStart, int rowStart, int itemWeight, long itemKey, int fromColumn, int toColumn) {
+        LongVector itemKeys = LongVector.broadcast(SPECIES, itemKey);
+        int column = fromColumn;
+        for (int upperBound = fromColumn + SPECIES.loopBound(toColumn - fromColumn); column < upperBound; column += SPECIES.length()) {
+            LongVector without = LongVector.fromArray(SPECIES, keys, previousRowStart + column);
+            LongVector with = LongVector.fromArray(SPECIES, keys, previousRowStart + column - itemWeight).add(itemKeys);
+            without.max(with).intoArray(keys, rowStart + column);
+        }
+        for (; column < toColumn; column++) {
+            keys[rowStart + column] = Math.max(keys[previousRowStart + column], keys[previousRowStart + column - itemWeight] + itemKey);
+        }
+    }
+
+    /**
+     * @return The number of columns updated per instruction.
+     */
+    static int lanes() {
+        return SPECIES.length();
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Component;
 import com.markort147.configs.DataFormatConfiguration;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Provides functionality to rescale weight values based on a configuration-driven scale factor.
@@ -16,6 +17,7 @@ import java.math.BigDecimal;
 public class WeightRescaler {
 
     private final int scaleFactor;
+    private final int maxDecimals;
 
     /**
      * Constructs a WeightRescaler with a scale factor derived from the DataFormatConfiguration.
@@ -24,7 +26,8 @@ public class WeightRescaler {
      */
     @Autowired
     public WeightRescaler(DataFormatConfiguration dataFormatConfiguration) {
-        scaleFactor = (int) Math.pow(10, dataFormatConfiguration.getWeightDecimals());
+        maxDecimals = dataFormatConfiguration.getWeightDecimals();
+        scaleFactor = (int) Math.pow(10, maxDecimals);
         log.info("WeightRescaler initalized. scaleFactor=" + scaleFactor);
     }
 
@@ -43,8 +46,50 @@ public class WeightRescaler {
      *
      * @param originalValue The original weight value as a BigDecimal.
      * @return The rescaled weight as an integer.
+     * @throws ArithmeticException If the rescaled weight is larger than {@link WeightScale#MAX_RESCALED_WEIGHT}.
      */
     public int rescaleAsInt(BigDecimal originalValue) {
-        return rescale(originalValue).intValue();
+        return WeightScale.toRescaledWeight(rescale(originalValue));
+    }
+
+    /**
+     * Computes the smallest scale for the weights of the given items.
+     * The number of decimals is the largest one actually used by the weights, up to the configured one,
+     * and the divisor is the greatest common divisor of the weights rescaled by that number of decimals.
+     * For instance, weights 2.5 and 10 are rescaled to 1 and 4.
+     *
+     * @param weights The weights of the items of a request.
+     * @return The scale to apply to the weights of the request.
+     * @throws ArithmeticException If a rescaled weight is larger than {@link WeightScale#MAX_RESCALED_WEIGHT}.
+     */
+    public WeightScale getScale(List<BigDecimal> weights) {
+        int decimals = 0;
+        for (BigDecimal weight : weights) {
+            decimals = Math.max(decimals, Math.min(maxDecimals, weight.stripTrailingZeros().scale()));
+        }
+        int divisor = 0;
+        for (BigDecimal weight : weights) {
+            divisor = greatestCommonDivisor(divisor, WeightScale.toRescaledWeight(weight.movePointRight(decimals)));
+        }
+        return new WeightScale(decimals, Math.max(1, divisor));
+    }
+
+    /**
+     * Returns the scale keeping every valid weight exact, i.e. with the configured number of decimals and no divisor.
+     * It suits weights that are not known in advance, e.g. items added later to a request.
+     *
+     * @return The scale with the configured number of decimals.
+     */
+    public WeightScale getConfiguredScale() {
+        return new WeightScale(maxDecimals, 1);
+    }
+
+    private static int greatestCommonDivisor(int first, int second) {
+        while (second != 0) {
+            int remainder = first % second;
+            first = second;
+            second = remainder;
+        }
+        return Math.abs(first);
     }
 }
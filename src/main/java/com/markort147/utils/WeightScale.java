@@ -0,0 +1,74 @@
+package com.markort147.utils;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Rescaling of the weights of a single request to integers.
+ * Weights are multiplied by {@code 10^decimals} and divided by {@code divisor}, which divides every rescaled
+ * item weight, so that item weights stay exact while the dynamic programming tables are as narrow as possible.
+ * <p>
+ * Rescaled weights are at most {@link #MAX_RESCALED_WEIGHT}, so that the columns of a table, one more than its
+ * capacity, are still counted by an int; larger weights are rejected rather than wrapped around.
+ */
+@Getter
+public class WeightScale {
+
+    /**
+     * Largest rescaled weight or capacity.
+     */
+    public static final int MAX_RESCALED_WEIGHT = Integer.MAX_VALUE - 1;
+
+    private final int decimals;
+    private final int divisor;
+
+    /**
+     * Constructs a scale from its number of decimals and its divisor.
+     *
+     * @param decimals Number of decimals kept from the weights.
+     * @param divisor  Common divisor of the rescaled item weights.
+     */
+    public WeightScale(int decimals, int divisor) {
+        this.decimals = decimals;
+        this.divisor = divisor;
+    }
+
+    /**
+     * Rescales the weight of an item, which must be a multiple of the divisor once multiplied by {@code 10^decimals}.
+     *
+     * @param weight The original weight of the item.
+     * @return The rescaled weight as an integer.
+     * @throws ArithmeticException If the rescaled weight is larger than {@link #MAX_RESCALED_WEIGHT}.
+     */
+    public int rescaleAsInt(BigDecimal weight) {
+        return toRescaledWeight(weight.movePointRight(decimals)) / divisor;
+    }
+
+    /**
+     * Rescales the capacity of a box, rounding it down: a combination of items fits in the rescaled capacity
+     * if and only if it fits in the original one.
+     *
+     * @param capacity The original capacity of the box.
+     * @return The rescaled capacity as an integer.
+     * @throws ArithmeticException If the rescaled capacity is larger than {@link #MAX_RESCALED_WEIGHT}.
+     */
+    public int rescaleCapacityAsInt(BigDecimal capacity) {
+        return toRescaledWeight(capacity.movePointRight(decimals)) / divisor;
+    }
+
+    /**
+     * Converts a weight already multiplied by its power of ten to an int, dropping its fractional part.
+     *
+     * @param weight The weight multiplied by {@code 10^decimals}.
+     * @return The weight as an int.
+     * @throws ArithmeticException If the weight is larger than {@link #MAX_RESCALED_WEIGHT}.
+     */
+    public static int toRescaledWeight(BigDecimal weight) {
+        int rescaledWeight = weight.toBigInteger().intValueExact();
+        if (rescaledWeight > MAX_RESCALED_WEIGHT) {
+            throw new ArithmeticException("Rescaled weight " + weight + " is larger than " + MAX_RESCALED_WEIGHT + ".");
+        }
+        return rescaledWeight;
+    }
+}
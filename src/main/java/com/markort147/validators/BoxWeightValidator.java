@@ -4,12 +4,14 @@ import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.markort147.configs.ConstraintsConfiguration;
 import com.markort147.configs.DataFormatConfiguration;
+import com.markort147.utils.WeightScale;
 
 import java.math.BigDecimal;
 
 /**
  * Validator for checking the maximum weight of a box against specific constraints.
- * Ensures the weight value is non-negative, does not exceed a maximum limit, and adheres to specified decimal precision.
+ * Ensures the weight value is non-negative, does not exceed a maximum limit, and adheres to specified decimal precision,
+ * and that it can be rescaled to an int by the solvers.
  */
 public class BoxWeightValidator extends BaseRequestValidator<ValidBoxWeight, BigDecimal> {
 
@@ -41,6 +43,7 @@ public class BoxWeightValidator extends BaseRequestValidator<ValidBoxWeight, Big
         isValid = isValid && checkNumberOfDecimals(value, context);
         isValid = isValid && checkPositivity(value, context);
         isValid = isValid && checkAgainstMaxValue(value, context);
+        isValid = isValid && checkRescaledValue(value, context);
         return isValid;
     }
 
@@ -69,4 +72,13 @@ public class BoxWeightValidator extends BaseRequestValidator<ValidBoxWeight, Big
         }
         return true;
     }
-}
\ No newline at end of file
+
+    private boolean checkRescaledValue(BigDecimal value, ConstraintValidatorContext context) {
+        BigDecimal maxRescaledWeight = BigDecimal.valueOf(WeightScale.MAX_RESCALED_WEIGHT).movePointLeft(dataFormatConfiguration.getWeightDecimals());
+        if (value.compareTo(maxRescaledWeight) > 0) {
+            addCustomConstraintViolation(context, "invalid box weight=" + value + ". Weight must be at most " + maxRescaledWeight + " to be rescaled by " + dataFormatConfiguration.getWeightDecimals() + " decimals.");
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package com.markort147.validators;
+
+import jakarta.validation.ConstraintValidatorContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import com.markort147.configs.ConstraintsConfiguration;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Validator for checking the size of the list of box weights of a multi-capacity request.
+ * Ensures the list is not empty and its size is within a maximum limit.
+ */
+public class BoxWeightsListValidator extends BaseRequestValidator<ValidBoxWeightsList, List<BigDecimal>> {
+
+    private final ConstraintsConfiguration constraintsConfiguration;
+
+    /**
+     * Constructs a validator with configuration settings for constraints.
+     *
+     * @param constraintsConfiguration Configuration providing maximum size constraint.
+     */
+    @Autowired
+    public BoxWeightsListValidator(ConstraintsConfiguration constraintsConfiguration) {
+        this.constraintsConfiguration = constraintsConfiguration;
+    }
+
+    /**
+     * Validates the box weights list against the specified constraints.
+     *
+     * @param value   The box weights list to be validated.
+     * @param context The context in which the constraint is evaluated.
+     * @return {@code true} if the list is valid according to the constraints, {@code false} otherwise.
+     */
+    @Override
+    protected boolean validate(List<BigDecimal> value, ConstraintValidatorContext context) {
+        boolean isValid = true;
+        isValid = isValid && checkSize(value, context);
+        return isValid;
+    }
+
+    private boolean checkSize(List<BigDecimal> value, ConstraintValidatorContext context) {
+        int maxNumber = constraintsConfiguration.getBox().getMaxNumber();
+        if (value.isEmpty() || value.size() > maxNumber) {
+            addCustomConstraintViolation(context, "invalid number of boxes=" + value.size() + ". Number of boxes must be between 1 and " + maxNumber + ".");
+            return false;
+        }
+        return true;
+    }
+}
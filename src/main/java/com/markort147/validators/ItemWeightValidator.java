@@ -4,12 +4,14 @@ import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.markort147.configs.ConstraintsConfiguration;
 import com.markort147.configs.DataFormatConfiguration;
+import com.markort147.utils.WeightScale;
 
 import java.math.BigDecimal;
 
 /**
  * Validator for checking the weight of an item against specific constraints.
- * Ensures the weight is non-negative, within a maximum limit, and adheres to decimal precision rules.
+ * Ensures the weight is non-negative, within a maximum limit, and adheres to decimal precision rules,
+ * and that it can be rescaled to an int by the solvers.
  */
 public class ItemWeightValidator extends BaseRequestValidator<ValidItemWeight, BigDecimal> {
 
@@ -41,6 +43,7 @@ public class ItemWeightValidator extends BaseRequestValidator<ValidItemWeight, B
         isValid = isValid && checkNumberOfDecimals(value, context);
         isValid = isValid && checkPositivity(value, context);
         isValid = isValid && checkAgainstMaxValue(value, context);
+        isValid = isValid && checkRescaledValue(value, context);
         return isValid;
     }
 
@@ -69,4 +72,13 @@ public class ItemWeightValidator extends BaseRequestValidator<ValidItemWeight, B
         }
         return true;
     }
-}
\ No newline at end of file
+
+    private boolean checkRescaledValue(BigDecimal value, ConstraintValidatorContext context) {
+        BigDecimal maxRescaledWeight = BigDecimal.valueOf(WeightScale.MAX_RESCALED_WEIGHT).movePointLeft(dataFormatConfiguration.getWeightDecimals());
+        if (value.compareTo(maxRescaledWeight) > 0) {
+            addCustomConstraintViolation(context, "invalid item weight=" + value + ". Weight must be at most " + maxRescaledWeight + " to be rescaled by " + dataFormatConfiguration.getWeightDecimals() + " decimals.");
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package com.markort147.validators;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+/**
+ * Validator recording the duration of the validations of a delegate validator.
+ * It adapts the Bean Validation validator of the delegate, so that the web stacks also use it to validate
+ * the constraints on the parameters of the handler methods, e.g. on a query parameter.
+ */
+public class TimedValidator extends SpringValidatorAdapter {
+
+    private final Timer timer;
+
+    /**
+     * Initializes the validator with the validator to time.
+     *
+     * @param delegate The validator performing the validations.
+     * @param timer    The timer recording their duration.
+     */
+    public TimedValidator(SpringValidatorAdapter delegate, Timer timer) {
+        super(delegate);
+        this.timer = timer;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        timer.record(() -> super.validate(target, errors));
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        timer.record(() -> super.validate(target, errors, validationHints));
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors, Object... validationHints) {
+        timer.record(() -> super.validateValue(targetType, fieldName, value, errors, validationHints));
+    }
+}
@@ -15,7 +15,7 @@ import java.lang.annotation.Target;
  * Can be used on any field that represents the weight of a box to enforce
  * constraints such as non-negativity, maximum limit, and decimal precision.
  */
-@Target({ ElementType.FIELD })
+@Target({ ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE_USE })
 @Retention(RetentionPolicy.RUNTIME)
 @Constraint(validatedBy = BoxWeightValidator.class)
 public @interface ValidBoxWeight {
@@ -0,0 +1,25 @@
+package com.markort147.validators;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Custom constraint annotation for validating the list of the weights of several boxes.
+ * This annotation is used in conjunction with {@link BoxWeightsListValidator} to ensure
+ * the size of the list does not exceed a maximum allowed value.
+ * <p>
+ * Apply this annotation to any field that represents a list of box weights to validate it against these constraints.
+ */
+@Target({ ElementType.FIELD })
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = BoxWeightsListValidator.class)
+public @interface ValidBoxWeightsList {
+    String message() default "Invalid box weights list";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
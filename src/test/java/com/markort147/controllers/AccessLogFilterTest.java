@@ -0,0 +1,93 @@
+package com.markort147.controllers;
+
+import com.markort147.configs.AccessLogConfiguration;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class AccessLogFilterTest {
+
+    private static final String BODY = "{\"id\":\"1\"}\n{\"id\":\"2\"}\n";
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EchoController())
+            .addFilters(createFilter())
+            .build();
+
+    @BeforeAll
+    static void enableAccessLog() {
+        Configurator.setLevel("access", Level.INFO);
+    }
+
+    private static AccessLogFilter createFilter() {
+        AccessLogConfiguration accessLogConfiguration = new AccessLogConfiguration();
+        accessLogConfiguration.setPayloadSampleRate(1);
+        return new AccessLogFilter(accessLogConfiguration);
+    }
+
+    @Test
+    void test_stream_with_parameters_not_sampled() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/echo/stream")
+                        .contentType("application/x-ndjson;charset=UTF-8")
+                        .content(BODY))
+                .andReturn();
+        assert (result.getRequest().isAsyncStarted());
+        assert (WebUtils.getNativeResponse(result.getRequest().getAsyncContext().getResponse(), ContentCachingResponseWrapper.class) == null);
+
+        mockMvc.perform(asyncDispatch(result));
+        assert (result.getResponse().getContentAsString(StandardCharsets.UTF_8).equals(BODY));
+    }
+
+    @Test
+    void test_sampled_async_response_written() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/echo/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andReturn();
+        assert (result.getRequest().isAsyncStarted());
+        assert (WebUtils.getNativeResponse(result.getRequest().getAsyncContext().getResponse(), ContentCachingResponseWrapper.class) != null);
+
+        mockMvc.perform(asyncDispatch(result));
+        assert (result.getResponse().getContentAsString(StandardCharsets.UTF_8).equals(BODY));
+    }
+
+    @Test
+    void test_sampled_response_written() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/echo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andReturn();
+        assert (!result.getRequest().isAsyncStarted());
+        assert (result.getResponse().getContentAsString(StandardCharsets.UTF_8).equals(BODY));
+    }
+
+    @RestController
+    static class EchoController {
+
+        @PostMapping("/api/echo")
+        public String echo(@RequestBody String body) {
+            return body;
+        }
+
+        @PostMapping("/api/echo/stream")
+        public ResponseEntity<StreamingResponseBody> echoStream(@RequestBody String body) {
+            return ResponseEntity.ok(output -> output.write(body.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.markort147.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BestCombinationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void test_malformed_request() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/best-combination")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"max_weight\": "))
+                .andReturn();
+        assert (result.getResponse().getStatus() == 400);
+    }
+
+    @Test
+    void test_error_as_plain_text() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/best-combination")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content("{\"max_weight\": 101, \"items\": [{\"Item ID\": 1, \"Weight\": 1, \"Price\": 1}]}"))
+                .andReturn();
+        assert (result.getResponse().getStatus() == 400);
+        assert (MediaType.parseMediaType(result.getResponse().getContentType()).isCompatibleWith(MediaType.TEXT_PLAIN));
+    }
+
+    @Test
+    void test_too_many_boxes() throws Exception {
+        String maxWeights = String.join(", ", Collections.nCopies(101, "10"));
+        MvcResult result = mockMvc.perform(post("/api/best-combination/multi-capacity")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"max_weights\": [" + maxWeights + "], \"items\": [{\"Item ID\": 1, \"Weight\": 1, \"Price\": 1}]}"))
+                .andReturn();
+        assert (result.getResponse().getStatus() == 400);
+        assert (result.getResponse().getContentAsString().equals("Argument maxWeights not valid: invalid number of boxes=101. Number of boxes must be between 1 and 100."));
+    }
+}
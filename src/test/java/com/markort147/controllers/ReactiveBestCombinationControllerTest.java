@@ -0,0 +1,110 @@
+package com.markort147.controllers;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.services.AdmissionController;
+import com.markort147.testhelper.TestDataFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Random;
+
+@SpringBootTest(properties = "solver.admission.max-wait=0s")
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveBestCombinationControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private AdmissionController admissionController;
+    @Autowired
+    private SolverConfiguration solverConfiguration;
+
+    private WebTestClient.ResponseSpec post(Object body) {
+        return webTestClient.post()
+                .uri("/api/best-combination")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange();
+    }
+
+    @Test
+    void test_ok() {
+        post(TestDataFactory.createRequestFromFile("example_1"))
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.items").isArray()
+                .jsonPath("$.optimal").isEqualTo(true);
+    }
+
+    @Test
+    void test_invalid_request() {
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        request.setMaxWeight(BigDecimal.valueOf(101));
+        post(request)
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).value(body -> {
+                    assert (body.startsWith("Argument maxWeight not valid"));
+                });
+    }
+
+    @Test
+    void test_error_as_plain_text() {
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        request.setMaxWeight(BigDecimal.valueOf(101));
+        webTestClient.post()
+                .uri("/api/best-combination")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN);
+    }
+
+    @Test
+    void test_malformed_request() {
+        post("{\"max_weight\": ")
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void test_admission_rejected() {
+        try (AdmissionController.Admission admission = admissionController.admit(solverConfiguration.getAdmission().getMaxCells())) {
+            post(TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2))
+                    .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                    .expectHeader().exists(HttpHeaders.RETRY_AFTER);
+        }
+    }
+
+    @Test
+    void test_solve_timeout() {
+        SolverConfiguration.Deadline deadline = solverConfiguration.getDeadline();
+        Duration timeout = deadline.getTimeout();
+        SolverConfiguration.Deadline.OnTimeout onTimeout = deadline.getOnTimeout();
+        SolverConfiguration.Engine engine = solverConfiguration.getEngine();
+        solverConfiguration.setEngine(SolverConfiguration.Engine.ROLLING);
+        deadline.setTimeout(Duration.ofNanos(1));
+        deadline.setOnTimeout(SolverConfiguration.Deadline.OnTimeout.REJECT);
+        try {
+            post(TestDataFactory.createRandomRequest(new Random(148), 15, 100, 2))
+                    .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                    .expectHeader().exists(HttpHeaders.RETRY_AFTER);
+        } finally {
+            solverConfiguration.setEngine(engine);
+            deadline.setTimeout(timeout);
+            deadline.setOnTimeout(onTimeout);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.markort147.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SessionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String createSession() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"max_weight\": 10, \"items\": [{\"Item ID\": 1, \"Weight\": 5, \"Price\": 10}, {\"Item ID\": 2, \"Weight\": 6, \"Price\": 12}]}"))
+                .andReturn();
+        assert (result.getResponse().getStatus() == 201);
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("session_id").asText();
+    }
+
+    private String items(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("items").toString();
+    }
+
+    @Test
+    void test_best_combination_for_capacity_of_the_session() throws Exception {
+        String sessionId = createSession();
+        MvcResult result = mockMvc.perform(get("/api/sessions/" + sessionId + "/best-combination")).andReturn();
+        assert (result.getResponse().getStatus() == 200);
+        assert (items(result).equals("[2]"));
+
+        result = mockMvc.perform(get("/api/sessions/" + sessionId + "/best-combination").param("max_weight", "5")).andReturn();
+        assert (result.getResponse().getStatus() == 200);
+        assert (items(result).equals("[1]"));
+    }
+
+    @Test
+    void test_invalid_max_weight() throws Exception {
+        String sessionId = createSession();
+        MvcResult result = mockMvc.perform(get("/api/sessions/" + sessionId + "/best-combination").param("max_weight", "5.123")).andReturn();
+        assert (result.getResponse().getStatus() == 400);
+        assert (result.getResponse().getContentAsString(StandardCharsets.UTF_8).startsWith("Argument maxWeight not valid: invalid box weight=5.123"));
+    }
+}
@@ -0,0 +1,20 @@
+package com.markort147.mocks;
+
+import com.markort147.configs.ConstraintsConfiguration;
+
+import java.math.BigDecimal;
+
+public class ConstraintsConfigurationMock extends ConstraintsConfiguration {
+
+    public ConstraintsConfigurationMock() {
+        Items items = new Items();
+        items.setMaxNumber(15);
+        items.setMaxWeight(new BigDecimal(100));
+        items.setMaxPrice(new BigDecimal(100));
+        setItems(items);
+        Box box = new Box();
+        box.setMaxWeight(new BigDecimal(100));
+        box.setMaxNumber(100);
+        setBox(box);
+    }
+}
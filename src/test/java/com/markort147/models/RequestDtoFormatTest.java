@@ -0,0 +1,52 @@
+package com.markort147.models;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.testhelper.TestValidatorFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+class RequestDtoFormatTest {
+
+    private final Validator validator = TestValidatorFactory.createValidator();
+
+    private static List<ObjectMapper> binaryMappers() {
+        return List.of(Jackson2ObjectMapperBuilder.cbor().build(), Jackson2ObjectMapperBuilder.smile().build());
+    }
+
+    @Test
+    void test_valid_request_round_trip() throws Exception {
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        for (ObjectMapper objectMapper : binaryMappers()) {
+            RequestDto decoded = objectMapper.readValue(objectMapper.writeValueAsBytes(request), RequestDto.class);
+            assert (validator.validate(decoded).isEmpty());
+            assert (decoded.getMaxWeight().compareTo(request.getMaxWeight()) == 0);
+            assert (decoded.getItems().size() == request.getItems().size());
+            for (int i = 0; i < request.getItems().size(); i++) {
+                ItemDto item = request.getItems().get(i);
+                ItemDto decodedItem = decoded.getItems().get(i);
+                assert (decodedItem.getId().equals(item.getId()));
+                assert (decodedItem.getWeight().equals(item.getWeight()));
+                assert (decodedItem.getPrice().equals(item.getPrice()));
+            }
+        }
+    }
+
+    @Test
+    void test_invalid_request_round_trip() throws Exception {
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        request.setMaxWeight(BigDecimal.valueOf(101));
+        for (ObjectMapper objectMapper : binaryMappers()) {
+            RequestDto decoded = objectMapper.readValue(objectMapper.writeValueAsBytes(request), RequestDto.class);
+            Set<ConstraintViolation<RequestDto>> violations = validator.validate(decoded);
+            assert (violations.size() == 1);
+            assert (violations.iterator().next().getPropertyPath().toString().equals("maxWeight"));
+        }
+    }
+}
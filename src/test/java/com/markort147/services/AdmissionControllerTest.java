@@ -0,0 +1,88 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionControllerTest {
+
+    private final WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdmissionController createController(int maxCells, Duration maxWait) {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getAdmission().setMaxCells(maxCells);
+        solverConfiguration.getAdmission().setMaxWait(maxWait);
+        return new AdmissionController(solverConfiguration, meterRegistry);
+    }
+
+    private double cellsInUse() {
+        return meterRegistry.get("solver.admission.cells").gauge().value();
+    }
+
+    @Test
+    void test_cells_of_engines() {
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2);
+        assert (new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential()).estimateCells(request) == 15 * 10_000);
+        assert (new RollingCombinationSolver(weightRescaler).estimateCells(request) == 10_001 + 15 * 10_001 / 96);
+        assert (new MeetInTheMiddleCombinationSolver().estimateCells(request) == 8 * (128 + 256));
+        assert (new BranchAndBoundCombinationSolver(weightRescaler, new SolverConfiguration()).estimateCells(request) == 15);
+    }
+
+    @Test
+    void test_requests_within_budget_admitted() {
+        AdmissionController controller = createController(300_000, Duration.ZERO);
+        long cells = 150_000;
+        try (AdmissionController.Admission first = controller.admit(cells);
+             AdmissionController.Admission second = controller.admit(cells)) {
+            assert (cellsInUse() == 300_000);
+        }
+        assert (cellsInUse() == 0);
+    }
+
+    @Test
+    void test_request_over_budget_rejected() {
+        AdmissionController controller = createController(200_000, Duration.ofMillis(10));
+        long cells = 150_000;
+        try (AdmissionController.Admission admission = controller.admit(cells)) {
+            assertThrows(AdmissionRejectedException.class, () -> controller.admit(cells));
+        }
+        assert (meterRegistry.get("solver.admission.rejected").counter().count() == 1);
+        assert (cellsInUse() == 0);
+    }
+
+    @Test
+    void test_request_over_budget_queued() throws Exception {
+        AdmissionController controller = createController(200_000, Duration.ofMinutes(1));
+        long cells = 150_000;
+        CompletableFuture<AdmissionController.Admission> queued;
+        try (AdmissionController.Admission admission = controller.admit(cells)) {
+            queued = CompletableFuture.supplyAsync(() -> controller.admit(cells));
+            Thread.sleep(50);
+            assert (!queued.isDone());
+        }
+        queued.get(10, TimeUnit.SECONDS).close();
+        assert (cellsInUse() == 0);
+    }
+
+    @Test
+    void test_request_larger_than_budget_solved_alone() {
+        AdmissionController controller = createController(1_000, Duration.ZERO);
+        long cells = 150_000;
+        try (AdmissionController.Admission admission = controller.admit(cells)) {
+            assert (cellsInUse() == 1_000);
+            assertThrows(AdmissionRejectedException.class, () -> controller.admit(1));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.BatchResultDto;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.BestCombinationServiceBuilder;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.testhelper.TestValidatorFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+class BatchCombinationServiceTest {
+
+    private final BestCombinationService bestCombinationService = new BestCombinationServiceBuilder().build();
+    private final BatchCombinationService service = createBatchService();
+
+    private BatchCombinationService createBatchService() {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getBatch().setParallelism(4);
+        return new BatchCombinationService(bestCombinationService, TestValidatorFactory.createValidator(), solverConfiguration, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void test_results_in_order() {
+        Random random = new Random(147);
+        List<RequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            requests.add(TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), 2));
+        }
+        List<BatchResultDto> results = service.process(requests);
+        assert (results.size() == requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assert (results.get(i).getError() == null);
+            assert (results.get(i).getResponse().getItems().equals(bestCombinationService.process(requests.get(i)).getItems()));
+        }
+    }
+
+    @Test
+    void test_invalid_entries() {
+        RequestDto tooHeavyBox = TestDataFactory.createRequestFromFile("example_2");
+        tooHeavyBox.setMaxWeight(new BigDecimal(101));
+        RequestDto tooManyDecimals = TestDataFactory.createRequestFromFile("example_4");
+        ItemDto item = tooManyDecimals.getItems().get(0);
+        item.setWeight(new BigDecimal("1.001"));
+
+        List<BatchResultDto> results = service.process(Arrays.asList(
+                TestDataFactory.createRequestFromFile("example_1"),
+                tooHeavyBox,
+                null,
+                tooManyDecimals,
+                TestDataFactory.createRequestFromFile("example_4")));
+
+        assert (results.get(0).getError() == null);
+        assert (results.get(0).getResponse().getItems().equals(new HashSet<>(Arrays.asList(2, 7))));
+        assert (results.get(1).getResponse() == null);
+        assert (results.get(1).getError().startsWith("Argument maxWeight not valid"));
+        assert (results.get(2).getResponse() == null);
+        assert (results.get(2).getError() != null);
+        assert (results.get(3).getResponse() == null);
+        assert (results.get(3).getError().startsWith("Argument items[0].weight not valid"));
+        assert (results.get(4).getResponse().getItems().equals(new HashSet<>(Arrays.asList(8, 9))));
+    }
+}
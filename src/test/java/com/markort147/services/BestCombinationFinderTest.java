@@ -18,17 +18,13 @@ class BestCombinationFinderTest {
     private void setupLoadingDataFromFile(String fileName) {
         request = TestDataFactory.createRequestFromFile(fileName);
         weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
-        CombinationMatrixBuilder combinationMatrixBuilder = new CombinationMatrixBuilder(weightRescaler);
-        combinationMatrixBuilder.init(request);
-        combinationMatrixBuilder.buildMatrix();
-        matrix = combinationMatrixBuilder.getMatrix();
+        CombinationMatrixBuilder combinationMatrixBuilder = new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential());
+        matrix = combinationMatrixBuilder.buildMatrix(request);
     }
 
     private void findBestCombination() {
         BestCombinationFinder bestCombinationFinder = new BestCombinationFinder(weightRescaler);
-        bestCombinationFinder.setMatrix(matrix);
-        bestCombinationFinder.setItems(request.getItems());
-        bestCombination = bestCombinationFinder.getBestCombination();
+        bestCombination = bestCombinationFinder.getBestCombination(matrix, request.getItems());
     }
 
     private void assertCombinationIs(Integer... args) {
@@ -0,0 +1,69 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class BestCombinationServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 200;
+
+    private final WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+
+    private void assertNoCrossTalk(CombinationSolver solver) throws Exception {
+        Random random = new Random(147);
+        List<RequestDto> requests = new ArrayList<>();
+        List<Set<Integer>> expectedCombinations = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), 2);
+            requests.add(request);
+            expectedCombinations.add(solver.getBestCombination(request));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Set<Integer>>> futures = new ArrayList<>();
+            for (RequestDto request : requests) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return solver.getBestCombination(request);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < REQUESTS; i++) {
+                assert (futures.get(i).get().equals(expectedCombinations.get(i)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void test_primitive_solver_concurrently() throws Exception {
+        assertNoCrossTalk(new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential()));
+    }
+
+    @Test
+    void test_rolling_solver_concurrently() throws Exception {
+        assertNoCrossTalk(new RollingCombinationSolver(weightRescaler));
+    }
+
+    @Test
+    void test_matrix_solver_concurrently() throws Exception {
+        assertNoCrossTalk(new MatrixCombinationSolver(new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential()), new BestCombinationFinder(weightRescaler), weightRescaler, new SolverDiagnostics(new SolverConfiguration())));
+    }
+}
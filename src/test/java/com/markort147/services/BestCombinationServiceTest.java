@@ -0,0 +1,159 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.models.ResponseDto;
+import com.markort147.testhelper.BestCombinationServiceBuilder;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BestCombinationServiceTest {
+
+    private final WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+    private final MeetInTheMiddleCombinationSolver meetInTheMiddleSolver = new MeetInTheMiddleCombinationSolver();
+    private final BestCombinationService service = createService();
+
+    private BestCombinationService createService() {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getCache().setEnabled(false);
+        return new BestCombinationServiceBuilder()
+                .weightRescaler(weightRescaler)
+                .solverConfiguration(solverConfiguration)
+                .solvers(new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential()),
+                        new RollingCombinationSolver(weightRescaler),
+                        meetInTheMiddleSolver,
+                        new BranchAndBoundCombinationSolver(weightRescaler, solverConfiguration))
+                .build();
+    }
+
+    private BestCombinationService createTimingOutService(SolverConfiguration.Deadline.OnTimeout onTimeout, SimpleMeterRegistry meterRegistry) {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.setEngine(SolverConfiguration.Engine.ROLLING);
+        solverConfiguration.getDeadline().setTimeout(Duration.ofNanos(1));
+        solverConfiguration.getDeadline().setOnTimeout(onTimeout);
+        return new BestCombinationServiceBuilder()
+                .weightRescaler(weightRescaler)
+                .solverConfiguration(solverConfiguration)
+                .meterRegistry(meterRegistry)
+                .solvers(new RollingCombinationSolver(weightRescaler))
+                .build();
+    }
+
+    private static BigDecimal totalPrice(RequestDto request, Set<Integer> combination) {
+        return request.getItems().stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigDecimal totalWeight(RequestDto request, Set<Integer> combination) {
+        return request.getItems().stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getWeight).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private void assertCombinationIs(String fileName, Integer... args) {
+        ResponseDto response = service.process(TestDataFactory.createRequestFromFile(fileName));
+        assert (response.isOptimal());
+        assert (response.getItems().equals(new HashSet<>(Arrays.asList(args))));
+    }
+
+    @Test
+    void test_files() {
+        assertCombinationIs("example_1", 2, 7);
+        assertCombinationIs("example_2", 4);
+        assertCombinationIs("example_3");
+        assertCombinationIs("example_4", 8, 9);
+        assertCombinationIs("input_1", 2, 3);
+        assertCombinationIs("input_2", 2, 3);
+        assertCombinationIs("input_3", 1, 3);
+        assertCombinationIs("input_4");
+        assertCombinationIs("input_5");
+        assertCombinationIs("input_6", 4, 2);
+    }
+
+    @Test
+    void test_same_optimum_of_meet_in_the_middle() {
+        Random random = new Random(147);
+        for (int i = 0; i < 300; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, random.nextInt(16), random.nextInt(101), random.nextInt(3));
+            if (random.nextBoolean()) {
+                request.getItems().forEach(item -> item.setWeight(item.getWeight().divide(BigDecimal.TEN, 0, RoundingMode.DOWN)));
+            }
+            Set<Integer> bestCombination = service.process(request).getItems();
+            Set<Integer> expectedCombination = meetInTheMiddleSolver.getBestCombination(request);
+            assert (totalPrice(request, bestCombination).compareTo(totalPrice(request, expectedCombination)) == 0);
+            assert (totalWeight(request, bestCombination).compareTo(totalWeight(request, expectedCombination)) == 0);
+        }
+    }
+
+    @Test
+    void test_timeout_best_effort() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BestCombinationService timingOutService = createTimingOutService(SolverConfiguration.Deadline.OnTimeout.BEST_EFFORT, meterRegistry);
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2);
+        ResponseDto response = timingOutService.process(request);
+        assert (!response.isOptimal());
+        assert (totalWeight(request, response.getItems()).compareTo(request.getMaxWeight()) <= 0);
+        assert (!timingOutService.process(request).isOptimal());
+        assert (meterRegistry.get("solver.timeouts").tag("engine", "rolling").tag("action", "best_effort").counter().count() == 2);
+    }
+
+    @Test
+    void test_timeout_reject() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BestCombinationService timingOutService = createTimingOutService(SolverConfiguration.Deadline.OnTimeout.REJECT, meterRegistry);
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2);
+        SolveTimeoutException exception = assertThrows(SolveTimeoutException.class, () -> timingOutService.process(request));
+        assert (exception.getRetryAfter().equals(Duration.ofSeconds(5)));
+        assert (meterRegistry.get("solver.timeouts").tag("action", "reject").counter().count() == 1);
+    }
+
+    @Test
+    void test_phase_and_request_metrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.setEngine(SolverConfiguration.Engine.PRIMITIVE);
+        solverConfiguration.getCache().setEnabled(false);
+        BestCombinationService primitiveService = new BestCombinationServiceBuilder()
+                .weightRescaler(weightRescaler)
+                .solverConfiguration(solverConfiguration)
+                .meterRegistry(meterRegistry)
+                .solvers(new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential()))
+                .build();
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2);
+        primitiveService.process(request);
+        assert (meterRegistry.get("solver.phase").tag("engine", "primitive").tag("phase", "build").timer().count() == 1);
+        assert (meterRegistry.get("solver.phase").tag("engine", "primitive").tag("phase", "backtrack").timer().count() == 1);
+        assert (meterRegistry.get("solver.request.items").summary().totalAmount() == 15);
+        assert (meterRegistry.get("solver.request.capacity").summary().totalAmount() == 100);
+        assert (meterRegistry.get("solver.request.cells").summary().count() == 1);
+    }
+
+    @Test
+    void test_admission_charges_cells_of_dispatched_engine() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.setEngine(SolverConfiguration.Engine.BRANCH_AND_BOUND);
+        solverConfiguration.getCache().setEnabled(false);
+        BestCombinationService branchAndBoundService = new BestCombinationServiceBuilder()
+                .weightRescaler(weightRescaler)
+                .solverConfiguration(solverConfiguration)
+                .meterRegistry(meterRegistry)
+                .solvers(new BranchAndBoundCombinationSolver(weightRescaler, solverConfiguration))
+                .build();
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2);
+        int preprocessedItems = new RequestPreprocessor(new SimpleMeterRegistry()).preprocess(request).getRequest().getItems().size();
+        branchAndBoundService.process(request);
+        assert (meterRegistry.get("solver.request.cells").summary().totalAmount() == preprocessedItems);
+    }
+}
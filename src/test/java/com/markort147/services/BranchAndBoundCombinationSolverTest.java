@@ -0,0 +1,101 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+class BranchAndBoundCombinationSolverTest {
+
+    private final WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+    private final RollingCombinationSolver rollingSolver = new RollingCombinationSolver(weightRescaler);
+
+    private BranchAndBoundCombinationSolver createSolver(long nodeBudget) {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getBranchAndBound().setNodeBudget(nodeBudget);
+        return new BranchAndBoundCombinationSolver(weightRescaler, solverConfiguration);
+    }
+
+    private static BigDecimal totalPrice(RequestDto request, Set<Integer> combination) {
+        return request.getItems().stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigDecimal totalWeight(RequestDto request, Set<Integer> combination) {
+        return request.getItems().stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getWeight).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private void assertCombinationIs(String fileName, Integer... args) {
+        Solution solution = createSolver(Long.MAX_VALUE).solve(TestDataFactory.createRequestFromFile(fileName));
+        assert (solution.isOptimal());
+        assert (solution.getItems().equals(new HashSet<>(Arrays.asList(args))));
+    }
+
+    private void assertSameOptimumOfDynamicProgramming(RequestDto request) {
+        Solution solution = createSolver(Long.MAX_VALUE).solve(request);
+        Set<Integer> expectedCombination = rollingSolver.getBestCombination(request);
+        assert (solution.isOptimal());
+        assert (totalPrice(request, solution.getItems()).compareTo(totalPrice(request, expectedCombination)) == 0);
+        assert (totalWeight(request, solution.getItems()).compareTo(totalWeight(request, expectedCombination)) == 0);
+    }
+
+    @Test
+    void test_files() {
+        assertCombinationIs("example_1", 2, 7);
+        assertCombinationIs("example_2", 4);
+        assertCombinationIs("example_3");
+        assertCombinationIs("example_4", 8, 9);
+        assertCombinationIs("input_1", 2, 3);
+        assertCombinationIs("input_2", 2, 3);
+        assertCombinationIs("input_3", 1, 3);
+        assertCombinationIs("input_4");
+        assertCombinationIs("input_5");
+        assertCombinationIs("input_6", 4, 2);
+    }
+
+    @Test
+    void test_same_optimum_of_dynamic_programming() {
+        Random random = new Random(147);
+        for (int i = 0; i < 300; i++) {
+            assertSameOptimumOfDynamicProgramming(TestDataFactory.createRandomRequest(random, random.nextInt(16), random.nextInt(101), random.nextInt(3)));
+        }
+    }
+
+    @Test
+    void test_same_optimum_of_dynamic_programming_with_many_items() {
+        Random random = new Random(147);
+        for (int i = 0; i < 5; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, 500, 1000, 2);
+            assertSameOptimumOfDynamicProgramming(request);
+        }
+    }
+
+    @Test
+    void test_exhausted_budget() {
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 500, 1000, 2);
+        Solution solution = createSolver(1).solve(request);
+        assert (!solution.isOptimal());
+        assert (!solution.isTimedOut());
+        assert (!solution.getItems().isEmpty());
+        assert (totalWeight(request, solution.getItems()).compareTo(request.getMaxWeight()) <= 0);
+    }
+
+    @Test
+    void test_stops_at_deadline() {
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 500, 1000, 2);
+        Solution solution = createSolver(Long.MAX_VALUE).solve(request, SolveDeadline.after(Duration.ofNanos(1)));
+        assert (solution.isTimedOut());
+        assert (!solution.isOptimal());
+        assert (!solution.getItems().isEmpty());
+        assert (totalWeight(request, solution.getItems()).compareTo(request.getMaxWeight()) <= 0);
+    }
+}
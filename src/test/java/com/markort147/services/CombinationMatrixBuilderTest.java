@@ -1,5 +1,6 @@
 package com.markort147.services;
 
+import com.markort147.configs.SolverConfiguration;
 import com.markort147.models.RequestDto;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,8 @@ import com.markort147.utils.DoubleArrayUtils;
 import com.markort147.utils.WeightRescaler;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
 
 @Log4j2
 class CombinationMatrixBuilderTest {
@@ -23,10 +26,8 @@ class CombinationMatrixBuilderTest {
     }
 
     private void buildMatrix() {
-        CombinationMatrixBuilder combinationMatrixBuilder = new CombinationMatrixBuilder(weightRescaler);
-        combinationMatrixBuilder.init(request);
-        combinationMatrixBuilder.buildMatrix();
-        matrix = combinationMatrixBuilder.getMatrix();
+        CombinationMatrixBuilder combinationMatrixBuilder = new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential());
+        matrix = combinationMatrixBuilder.buildMatrix(request);
     }
 
     private void assertMatrixIsValidAndCheckLastElementIs(BigDecimal x) {
@@ -130,4 +131,19 @@ class CombinationMatrixBuilderTest {
         assertMatrixIsValidAndCheckLastElementIncludingWeightIs(new CombinationMatrix.Combination(new BigDecimal("143.00"), weightRescaler.rescaleAsInt(new BigDecimal("26.12"))));
     }
 
+    @Test
+    void test_parallel_fill_same_matrix() {
+        weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getParallelFill().setMinColumns(1);
+        solverConfiguration.getParallelFill().setBlockColumns(7);
+        CombinationMatrixBuilder parallelBuilder = new CombinationMatrixBuilder(weightRescaler, new ParallelRowFiller(solverConfiguration));
+        CombinationMatrixBuilder sequentialBuilder = new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential());
+        Random random = new Random(147);
+        for (int i = 0; i < 20; i++) {
+            RequestDto randomRequest = TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), 2);
+            assert (Arrays.deepEquals(parallelBuilder.buildMatrix(randomRequest).getCombinations(), sequentialBuilder.buildMatrix(randomRequest).getCombinations()));
+        }
+    }
+
 }
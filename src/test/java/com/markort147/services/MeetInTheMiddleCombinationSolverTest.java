@@ -0,0 +1,121 @@
+package com.markort147.services;
+
+import com.markort147.configs.DataFormatConfiguration;
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class MeetInTheMiddleCombinationSolverTest {
+
+    private final MeetInTheMiddleCombinationSolver solver = new MeetInTheMiddleCombinationSolver();
+
+    private static WeightRescaler createWeightRescaler(int weightDecimals) {
+        DataFormatConfiguration dataFormatConfiguration = new DataFormatConfiguration();
+        dataFormatConfiguration.setWeightDecimals(weightDecimals);
+        return new WeightRescaler(dataFormatConfiguration);
+    }
+
+    private static BigDecimal totalPrice(RequestDto request, Set<Integer> combination) {
+        return request.getItems().stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigDecimal totalWeight(RequestDto request, Set<Integer> combination) {
+        return request.getItems().stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getWeight).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private void assertCombinationIs(String fileName, Integer... args) {
+        Set<Integer> bestCombination = solver.getBestCombination(TestDataFactory.createRequestFromFile(fileName));
+        assert (bestCombination.equals(new HashSet<>(Arrays.asList(args))));
+    }
+
+    private void assertSameOptimumOf(CombinationSolver dynamicProgrammingSolver, RequestDto request) {
+        Set<Integer> bestCombination = solver.getBestCombination(request);
+        Set<Integer> expectedCombination = dynamicProgrammingSolver.getBestCombination(request);
+        assert (totalPrice(request, bestCombination).compareTo(totalPrice(request, expectedCombination)) == 0);
+        assert (totalWeight(request, bestCombination).compareTo(totalWeight(request, expectedCombination)) == 0);
+        assert (totalWeight(request, bestCombination).compareTo(request.getMaxWeight()) <= 0);
+    }
+
+    @Test
+    void test_files() {
+        assertCombinationIs("example_1", 2, 7);
+        assertCombinationIs("example_2", 4);
+        assertCombinationIs("example_3");
+        assertCombinationIs("example_4", 8, 9);
+        assertCombinationIs("input_1", 2, 3);
+        assertCombinationIs("input_2", 2, 3);
+        assertCombinationIs("input_3", 1, 3);
+        assertCombinationIs("input_4");
+        assertCombinationIs("input_5");
+        assertCombinationIs("input_6", 4, 2);
+    }
+
+    @Test
+    void test_same_optimum_of_dynamic_programming() {
+        PrimitiveCombinationSolver primitiveSolver = new PrimitiveCombinationSolver(createWeightRescaler(2), ParallelRowFiller.sequential());
+        Random random = new Random(147);
+        for (int i = 0; i < 300; i++) {
+            assertSameOptimumOf(primitiveSolver, TestDataFactory.createRandomRequest(random, random.nextInt(16), random.nextInt(101), random.nextInt(3)));
+        }
+    }
+
+    @Test
+    void test_same_optimum_of_dynamic_programming_with_four_decimals() {
+        RollingCombinationSolver rollingSolver = new RollingCombinationSolver(createWeightRescaler(4));
+        Random random = new Random(147);
+        for (int i = 0; i < 10; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, 15, 250, 4);
+            request.setMaxWeight(request.getMaxWeight().add(new BigDecimal("0.0001")));
+            assertSameOptimumOf(rollingSolver, request);
+        }
+    }
+
+    @Test
+    void test_same_combination_of_matrix_with_duplicate_items() {
+        WeightRescaler weightRescaler = createWeightRescaler(2);
+        MatrixCombinationSolver matrixSolver = new MatrixCombinationSolver(new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential()),
+                new BestCombinationFinder(weightRescaler), weightRescaler, new SolverDiagnostics(new SolverConfiguration()));
+        Random random = new Random(147);
+        for (int i = 0; i < 300; i++) {
+            List<ItemDto> items = new ArrayList<>();
+            for (int id = 1; id <= 1 + random.nextInt(12); id++) {
+                ItemDto item = new ItemDto();
+                item.setId(id);
+                item.setWeight(BigDecimal.valueOf(1 + random.nextInt(4), 1));
+                item.setPrice(BigDecimal.valueOf(random.nextInt(4)));
+                items.add(item);
+            }
+            RequestDto request = new RequestDto();
+            request.setMaxWeight(BigDecimal.valueOf(1 + random.nextInt(15), 1));
+            request.setItems(items);
+            assert (solver.getBestCombination(request).equals(matrixSolver.getBestCombination(request)));
+        }
+    }
+
+    @Test
+    void test_deadline() {
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 30, 100, 2);
+        Solution solution = solver.solve(request, SolveDeadline.after(Duration.ofNanos(1)));
+        assert (solution.isTimedOut());
+        assert (!solution.isOptimal());
+        assert (solution.getWork() < solver.estimateWork(request));
+        assert (totalWeight(request, solution.getItems()).compareTo(request.getMaxWeight()) <= 0);
+
+        Solution completeSolution = solver.solve(TestDataFactory.createRequestFromFile("example_1"), SolveDeadline.after(Duration.ofMinutes(1)));
+        assert (!completeSolution.isTimedOut());
+        assert (completeSolution.isOptimal());
+        assert (completeSolution.getItems().equals(Set.of(2, 7)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.ItemDto;
+import com.markort147.models.MultiCapacityRequestDto;
+import com.markort147.models.MultiCapacityResponseDto;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class MultiCapacityCombinationServiceTest {
+
+    private final MultiCapacityCombinationService service = createService(new AdmissionController(new SolverConfiguration(), new SimpleMeterRegistry()));
+    private final MeetInTheMiddleCombinationSolver meetInTheMiddleSolver = new MeetInTheMiddleCombinationSolver();
+
+    private static MultiCapacityCombinationService createService(AdmissionController admissionController) {
+        return new MultiCapacityCombinationService(new WeightRescaler(new DataFormatConfigurationMock()), admissionController, SolverExecutor.callerRuns());
+    }
+
+    private static BigDecimal totalPrice(List<ItemDto> items, Set<Integer> combination) {
+        return items.stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigDecimal totalWeight(List<ItemDto> items, Set<Integer> combination) {
+        return items.stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getWeight).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private void assertSameOptimaOfMeetInTheMiddle(Random random, int numberOfMaxWeights) {
+        RequestDto request = TestDataFactory.createRandomRequest(random, random.nextInt(16), 0, random.nextInt(3));
+        List<BigDecimal> maxWeights = new ArrayList<>();
+        for (int i = 0; i < numberOfMaxWeights; i++) {
+            maxWeights.add(BigDecimal.valueOf(random.nextInt(10_001), 2));
+        }
+        MultiCapacityRequestDto multiCapacityRequest = new MultiCapacityRequestDto();
+        multiCapacityRequest.setItems(request.getItems());
+        multiCapacityRequest.setMaxWeights(maxWeights);
+
+        List<MultiCapacityResponseDto> responses = service.process(multiCapacityRequest);
+
+        assert (responses.size() == maxWeights.size());
+        for (int i = 0; i < maxWeights.size(); i++) {
+            MultiCapacityResponseDto response = responses.get(i);
+            assert (response.getMaxWeight().equals(maxWeights.get(i)));
+            request.setMaxWeight(maxWeights.get(i));
+            Set<Integer> expectedCombination = meetInTheMiddleSolver.getBestCombination(request);
+            assert (totalPrice(request.getItems(), response.getItems()).compareTo(totalPrice(request.getItems(), expectedCombination)) == 0);
+            assert (totalWeight(request.getItems(), response.getItems()).compareTo(totalWeight(request.getItems(), expectedCombination)) == 0);
+        }
+    }
+
+    @Test
+    void test_same_optima_of_meet_in_the_middle() {
+        Random random = new Random(147);
+        for (int i = 0; i < 50; i++) {
+            assertSameOptimaOfMeetInTheMiddle(random, 1 + random.nextInt(10));
+        }
+    }
+
+    @Test
+    void test_same_optima_of_meet_in_the_middle_with_parallel_backtracks() {
+        Random random = new Random(147);
+        for (int i = 0; i < 3; i++) {
+            assertSameOptimaOfMeetInTheMiddle(random, MultiCapacityCombinationService.PARALLEL_BACKTRACK_THRESHOLD);
+        }
+    }
+
+    @Test
+    void test_file() {
+        MultiCapacityRequestDto request = new MultiCapacityRequestDto();
+        request.setItems(TestDataFactory.createRequestFromFile("example_1").getItems());
+        request.setMaxWeights(List.of(new BigDecimal(75), BigDecimal.ZERO));
+        List<MultiCapacityResponseDto> responses = service.process(request);
+        assert (responses.get(0).getItems().equals(Set.of(2, 7)));
+        assert (responses.get(1).getItems().isEmpty());
+    }
+
+    @Test
+    void test_admission() {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getAdmission().setMaxCells(1_000_000);
+        solverConfiguration.getAdmission().setMaxWait(Duration.ZERO);
+        AdmissionController admissionController = new AdmissionController(solverConfiguration, new SimpleMeterRegistry());
+        MultiCapacityCombinationService limitedService = createService(admissionController);
+        MultiCapacityRequestDto request = new MultiCapacityRequestDto();
+        request.setItems(TestDataFactory.createRequestFromFile("example_1").getItems());
+        request.setMaxWeights(List.of(new BigDecimal(75)));
+
+        try (AdmissionController.Admission admission = admissionController.admit(1_000_000)) {
+            assertThrows(AdmissionRejectedException.class, () -> limitedService.process(request));
+        }
+        assert (limitedService.process(request).get(0).getItems().equals(Set.of(2, 7)));
+    }
+}
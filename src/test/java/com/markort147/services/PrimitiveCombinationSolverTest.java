@@ -0,0 +1,76 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+class PrimitiveCombinationSolverTest {
+
+    private final WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+    private final PrimitiveCombinationSolver solver = new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential());
+
+    private final MatrixCombinationSolver matrixSolver = new MatrixCombinationSolver(new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential()), new BestCombinationFinder(weightRescaler), weightRescaler, new SolverDiagnostics(new SolverConfiguration()));
+
+    private void assertCombinationIs(String fileName, Integer... args) {
+        Set<Integer> bestCombination = solver.getBestCombination(TestDataFactory.createRequestFromFile(fileName));
+        assert (bestCombination.equals(new HashSet<>(Arrays.asList(args))));
+    }
+
+    @Test
+    void test_files() {
+        assertCombinationIs("example_1", 2, 7);
+        assertCombinationIs("example_2", 4);
+        assertCombinationIs("example_3");
+        assertCombinationIs("example_4", 8, 9);
+        assertCombinationIs("input_1", 2, 3);
+        assertCombinationIs("input_2", 2, 3);
+        assertCombinationIs("input_3", 1, 3);
+        assertCombinationIs("input_4");
+        assertCombinationIs("input_5");
+        assertCombinationIs("input_6", 4, 2);
+    }
+
+    @Test
+    void test_same_combinations_of_matrix() {
+        Random random = new Random(147);
+        for (int i = 0; i < 200; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), random.nextInt(3));
+            assert (solver.getBestCombination(request).equals(matrixSolver.getBestCombination(request)));
+        }
+    }
+
+    @Test
+    void test_same_combinations_with_parallel_fill() {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getParallelFill().setMinColumns(1);
+        solverConfiguration.getParallelFill().setBlockColumns(7);
+        PrimitiveCombinationSolver parallelSolver = new PrimitiveCombinationSolver(weightRescaler, new ParallelRowFiller(solverConfiguration));
+        Random random = new Random(147);
+        for (int i = 0; i < 200; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), random.nextInt(3));
+            assert (parallelSolver.getBestCombination(request).equals(solver.getBestCombination(request)));
+        }
+    }
+
+    @Test
+    void test_stops_at_deadline() {
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2);
+        Solution solution = solver.solve(request, SolveDeadline.after(Duration.ofNanos(1)));
+        assert (solution.isTimedOut());
+        assert (!solution.isOptimal());
+        assert (solution.getItems().isEmpty());
+        assert (solution.getWork() < solver.estimateWork(request));
+        Solution completed = solver.solve(request, SolveDeadline.after(Duration.ofMinutes(1)));
+        assert (!completed.isTimedOut());
+        assert (!completed.hasWork());
+    }
+}
@@ -0,0 +1,91 @@
+package com.markort147.services;
+
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class RequestPreprocessorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestPreprocessor requestPreprocessor = new RequestPreprocessor(meterRegistry);
+    private PreprocessedRequest preprocessedRequest;
+
+    private static ItemDto createItem(int id, String weight, String price) {
+        ItemDto item = new ItemDto();
+        item.setId(id);
+        item.setWeight(new BigDecimal(weight));
+        item.setPrice(new BigDecimal(price));
+        return item;
+    }
+
+    private static RequestDto createRequest(String maxWeight, ItemDto... items) {
+        RequestDto request = new RequestDto();
+        request.setMaxWeight(new BigDecimal(maxWeight));
+        request.setItems(new ArrayList<>(Arrays.asList(items)));
+        return request;
+    }
+
+    private void assertRemainingItemsAre(Integer... args) {
+        Set<Integer> remaining = preprocessedRequest.getRequest().getItems().stream().map(ItemDto::getId).collect(Collectors.toSet());
+        assert (remaining.equals(new HashSet<>(Arrays.asList(args))));
+    }
+
+    private double droppedItems(String reason) {
+        return meterRegistry.get("preprocessing.items.dropped").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void test_oversize_items() {
+        preprocessedRequest = requestPreprocessor.preprocess(TestDataFactory.createRequestFromFile("example_1"));
+        assertRemainingItemsAre(2, 3, 4, 7);
+        assert (droppedItems("oversize") == 4);
+        assert (droppedItems("dominated") == 1);
+    }
+
+    @Test
+    void test_dominated_items() {
+        preprocessedRequest = requestPreprocessor.preprocess(createRequest("10",
+                createItem(1, "5", "5"),
+                createItem(2, "4", "6"),
+                createItem(3, "7", "6")));
+        assertRemainingItemsAre(1, 2);
+        preprocessedRequest = requestPreprocessor.preprocess(createRequest("10",
+                createItem(1, "5", "5"),
+                createItem(2, "4", "6"),
+                createItem(3, "4", "6")));
+        assertRemainingItemsAre(2, 3);
+        assert (droppedItems("dominated") == 2);
+    }
+
+    @Test
+    void test_forced_and_priceless_items() {
+        preprocessedRequest = requestPreprocessor.preprocess(createRequest("10",
+                createItem(1, "0", "5"),
+                createItem(2, "3", "0"),
+                createItem(3, "4", "6")));
+        assertRemainingItemsAre(3);
+        assert (preprocessedRequest.getForcedItems().equals(Set.of(1)));
+        assert (droppedItems("priceless") == 1);
+    }
+
+    @Test
+    void test_reduced_capacity() {
+        preprocessedRequest = requestPreprocessor.preprocess(TestDataFactory.createRequestFromFile("input_2"));
+        assert (preprocessedRequest.getRequest().getMaxWeight().compareTo(new BigDecimal("12")) == 0);
+        preprocessedRequest = requestPreprocessor.preprocess(TestDataFactory.createRequestFromFile("input_1"));
+        assert (preprocessedRequest.getRequest().getMaxWeight().compareTo(new BigDecimal("5")) == 0);
+        preprocessedRequest = requestPreprocessor.preprocess(TestDataFactory.createRequestFromFile("input_6"));
+        assertRemainingItemsAre(2, 4);
+        assert (preprocessedRequest.getRequest().getMaxWeight().compareTo(new BigDecimal("3")) == 0);
+        assert (meterRegistry.get("preprocessing.capacity.reduced").counter().count() == 1);
+    }
+}
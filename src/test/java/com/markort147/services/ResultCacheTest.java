@@ -0,0 +1,110 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.models.ResponseDto;
+import com.markort147.testhelper.BestCombinationServiceBuilder;
+import com.markort147.testhelper.TestDataFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class ResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SolverConfiguration solverConfiguration = new SolverConfiguration();
+    private final ResultCache resultCache = new ResultCache(solverConfiguration, meterRegistry);
+    private final BestCombinationService service = new BestCombinationServiceBuilder()
+            .solverConfiguration(solverConfiguration)
+            .meterRegistry(meterRegistry)
+            .resultCache(resultCache)
+            .build();
+
+    private static RequestDto reorderedCopy(RequestDto request, Random random) {
+        List<ItemDto> items = new ArrayList<>();
+        for (ItemDto item : request.getItems()) {
+            ItemDto copy = new ItemDto();
+            copy.setId(item.getId());
+            copy.setWeight(item.getWeight().setScale(item.getWeight().scale() + 1));
+            copy.setPrice(item.getPrice());
+            items.add(copy);
+        }
+        Collections.shuffle(items, random);
+        RequestDto copy = new RequestDto();
+        copy.setMaxWeight(request.getMaxWeight());
+        copy.setItems(items);
+        return copy;
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "solver.results").tag("result", "hit").functionCounter().count();
+    }
+
+    private long solves() {
+        return meterRegistry.get("solver.duration").timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+
+    @Test
+    void test_same_key_regardless_of_order_and_trailing_zeros() {
+        Random random = new Random(147);
+        for (int i = 0; i < 100; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, random.nextInt(16), random.nextInt(101), 2);
+            assert (RequestKey.of(request).equals(RequestKey.of(reorderedCopy(request, random))));
+            assert (RequestKey.of(request).hashCode() == RequestKey.of(reorderedCopy(request, random)).hashCode());
+        }
+    }
+
+    @Test
+    void test_different_key_for_different_content() {
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        RequestDto otherCapacity = TestDataFactory.createRequestFromFile("example_1");
+        otherCapacity.setMaxWeight(otherCapacity.getMaxWeight().add(BigDecimal.ONE));
+        RequestDto otherPrice = TestDataFactory.createRequestFromFile("example_1");
+        otherPrice.getItems().get(0).setPrice(otherPrice.getItems().get(0).getPrice().add(BigDecimal.ONE));
+        assert (!RequestKey.of(request).equals(RequestKey.of(otherCapacity)));
+        assert (!RequestKey.of(request).equals(RequestKey.of(otherPrice)));
+    }
+
+    @Test
+    void test_hit_skips_solving() {
+        Random random = new Random(147);
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        ResponseDto first = service.process(request);
+        long solves = solves();
+
+        ResponseDto second = service.process(reorderedCopy(request, random));
+
+        assert (solves() == solves);
+        assert (hits() == 1);
+        assert (second.isOptimal());
+        assert (second.getItems().equals(first.getItems()));
+        second.getItems().clear();
+        assert (service.process(request).getItems().equals(new HashSet<>(Set.of(2, 7))));
+    }
+
+    @Test
+    void test_not_optimal_not_cached() {
+        solverConfiguration.setEngine(SolverConfiguration.Engine.BRANCH_AND_BOUND);
+        solverConfiguration.getBranchAndBound().setNodeBudget(1);
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2);
+        assert (!service.process(request).isOptimal());
+        service.process(request);
+        assert (hits() == 0);
+    }
+
+    @Test
+    void test_disabled() {
+        SolverConfiguration disabledConfiguration = new SolverConfiguration();
+        disabledConfiguration.getCache().setEnabled(false);
+        ResultCache disabledCache = new ResultCache(disabledConfiguration, new SimpleMeterRegistry());
+        assert (disabledCache.keyOf(TestDataFactory.createRequestFromFile("example_1")).isEmpty());
+    }
+}
@@ -0,0 +1,58 @@
+package com.markort147.services;
+
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+class RollingCombinationSolverTest {
+
+    private final WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+    private final RollingCombinationSolver solver = new RollingCombinationSolver(weightRescaler);
+    private final PrimitiveCombinationSolver primitiveSolver = new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential());
+
+    private void assertCombinationIs(String fileName, Integer... args) {
+        Set<Integer> bestCombination = solver.getBestCombination(TestDataFactory.createRequestFromFile(fileName));
+        assert (bestCombination.equals(new HashSet<>(Arrays.asList(args))));
+    }
+
+    @Test
+    void test_files() {
+        assertCombinationIs("example_1", 2, 7);
+        assertCombinationIs("example_2", 4);
+        assertCombinationIs("example_3");
+        assertCombinationIs("example_4", 8, 9);
+        assertCombinationIs("input_1", 2, 3);
+        assertCombinationIs("input_2", 2, 3);
+        assertCombinationIs("input_3", 1, 3);
+        assertCombinationIs("input_4");
+        assertCombinationIs("input_5");
+        assertCombinationIs("input_6", 4, 2);
+    }
+
+    @Test
+    void test_same_combinations_of_primitive_table() {
+        Random random = new Random(147);
+        for (int i = 0; i < 500; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), random.nextInt(3));
+            assert (solver.getBestCombination(request).equals(primitiveSolver.getBestCombination(request)));
+        }
+    }
+
+    @Test
+    void test_stops_at_deadline() {
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2);
+        Solution solution = solver.solve(request, SolveDeadline.after(Duration.ofNanos(1)));
+        assert (solution.isTimedOut());
+        assert (!solution.isOptimal());
+        assert (solution.getItems().isEmpty());
+        assert (!solver.solve(request, SolveDeadline.after(Duration.ofMinutes(1))).isTimedOut());
+    }
+}
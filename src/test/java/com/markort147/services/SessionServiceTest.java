@@ -0,0 +1,154 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.ConstraintsConfigurationMock;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.models.SessionResponseDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class SessionServiceTest {
+
+    private final SolverConfiguration solverConfiguration = new SolverConfiguration();
+    private final SessionService service = createService(solverConfiguration, new AdmissionController(solverConfiguration, new SimpleMeterRegistry()));
+    private final MeetInTheMiddleCombinationSolver meetInTheMiddleSolver = new MeetInTheMiddleCombinationSolver();
+
+    private static SessionService createService(SolverConfiguration solverConfiguration, AdmissionController admissionController) {
+        return new SessionService(new WeightRescaler(new DataFormatConfigurationMock()), new ConstraintsConfigurationMock(), solverConfiguration,
+                admissionController, SolverExecutor.callerRuns(), new SimpleMeterRegistry());
+    }
+
+    private static BigDecimal totalPrice(List<ItemDto> items, Set<Integer> combination) {
+        return items.stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigDecimal totalWeight(List<ItemDto> items, Set<Integer> combination) {
+        return items.stream().filter(item -> combination.contains(item.getId())).map(ItemDto::getWeight).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static RequestDto request(BigDecimal maxWeight, List<ItemDto> items) {
+        RequestDto request = new RequestDto();
+        request.setMaxWeight(maxWeight);
+        request.setItems(items);
+        return request;
+    }
+
+    private void assertSameOptimum(BigDecimal maxWeight, List<ItemDto> items, Set<Integer> combination) {
+        Set<Integer> expectedCombination = meetInTheMiddleSolver.getBestCombination(request(maxWeight, items));
+        assert (totalPrice(items, combination).compareTo(totalPrice(items, expectedCombination)) == 0);
+        assert (totalWeight(items, combination).compareTo(totalWeight(items, expectedCombination)) == 0);
+        assert (totalWeight(items, combination).compareTo(maxWeight) <= 0);
+    }
+
+    @Test
+    void test_create() {
+        SessionResponseDto response = service.create(TestDataFactory.createRequestFromFile("example_1"));
+        assert (response.getSessionId() != null);
+        assert (response.getItems().equals(Set.of(2, 7)));
+    }
+
+    @Test
+    void test_append_remove_and_query_same_optimum_of_meet_in_the_middle() {
+        Random random = new Random(147);
+        for (int i = 0; i < 50; i++) {
+            RequestDto full = TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), 2);
+            full.getItems().forEach(item -> item.setPrice(item.getPrice().movePointLeft(random.nextInt(3))));
+            int created = random.nextInt(full.getItems().size() + 1);
+            List<ItemDto> items = new ArrayList<>(full.getItems().subList(0, created));
+            String sessionId = service.create(request(full.getMaxWeight(), new ArrayList<>(items))).getSessionId();
+
+            List<ItemDto> appended = full.getItems().subList(created, full.getItems().size());
+            items.addAll(appended);
+            assertSameOptimum(full.getMaxWeight(), items, service.append(sessionId, appended).getItems());
+
+            ItemDto removed = items.remove(random.nextInt(items.size()));
+            assertSameOptimum(full.getMaxWeight(), items, service.remove(sessionId, removed.getId()).getItems());
+
+            BigDecimal smallerWeight = BigDecimal.valueOf(random.nextInt(full.getMaxWeight().intValue() * 100 + 1), 2);
+            assertSameOptimum(smallerWeight, items, service.getBestCombination(sessionId, smallerWeight).getItems());
+        }
+    }
+
+    @Test
+    void test_items_without_weight_in_box_without_capacity() {
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 3, 0, 0);
+        request.getItems().get(1).setWeight(BigDecimal.ZERO);
+        request.getItems().get(1).setPrice(BigDecimal.ONE);
+        assert (service.create(request).getItems().equals(Set.of(2)));
+    }
+
+    @Test
+    void test_invalid_operations() {
+        String sessionId = service.create(TestDataFactory.createRequestFromFile("example_1")).getSessionId();
+        ItemDto duplicated = TestDataFactory.createRequestFromFile("example_1").getItems().get(0);
+
+        assertThrows(SessionNotFoundException.class, () -> service.getBestCombination("unknown", BigDecimal.ONE));
+        assertThrows(InvalidSessionOperationException.class, () -> service.getBestCombination(sessionId, new BigDecimal("75.01")));
+        assertThrows(InvalidSessionOperationException.class, () -> service.append(sessionId, List.of(duplicated)));
+        assertThrows(InvalidSessionOperationException.class, () -> service.remove(sessionId, 100));
+        assertThrows(InvalidSessionOperationException.class, () -> service.append(sessionId, TestDataFactory.createRandomRequest(new Random(147), 15, 0, 0).getItems()));
+
+        service.delete(sessionId);
+        assertThrows(SessionNotFoundException.class, () -> service.getBestCombination(sessionId, BigDecimal.ONE));
+    }
+
+    @Test
+    void test_max_cells() {
+        solverConfiguration.getSession().setMaxCells(10_001 * 3);
+        SessionService limitedService = createService(solverConfiguration, new AdmissionController(solverConfiguration, new SimpleMeterRegistry()));
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 2, 100, 2);
+        String sessionId = limitedService.create(request).getSessionId();
+        assertThrows(InvalidSessionOperationException.class, () -> limitedService.append(sessionId, TestDataFactory.createRandomRequest(new Random(147), 1, 100, 2).getItems()));
+    }
+
+    @Test
+    void test_table_grows_within_max_cells() {
+        WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+        SolverSession session = new SolverSession("bounded", BigDecimal.valueOf(100), weightRescaler.getConfiguredScale(), 100, 10_001 * 7);
+        TestDataFactory.createRandomRequest(new Random(147), 6, 100, 2).getItems().forEach(item -> {
+            session.append(item);
+            assert (session.getTable().allocatedCells() <= 10_001 * 7);
+        });
+        assertThrows(IllegalStateException.class, () -> session.append(TestDataFactory.createRandomRequest(new Random(147), 1, 100, 2).getItems().get(0)));
+    }
+
+    @Test
+    void test_rejected_append_leaves_session_unchanged() {
+        List<ItemDto> items = TestDataFactory.createRandomRequest(new Random(147), 3, 100, 2).getItems();
+        items.get(0).setPrice(new BigDecimal("1000000000000000"));
+        String sessionId = service.create(request(BigDecimal.valueOf(100), List.of(items.get(0)))).getSessionId();
+        items.get(2).setPrice(new BigDecimal("0.00001"));
+
+        assertThrows(InvalidSessionOperationException.class, () -> service.append(sessionId, items.subList(1, 3)));
+        assert (service.getBestCombination(sessionId, BigDecimal.valueOf(100)).getItems().equals(Set.of(1)));
+        assertSameOptimum(BigDecimal.valueOf(100), items.subList(0, 2), service.append(sessionId, items.subList(1, 2)).getItems());
+    }
+
+    @Test
+    void test_admission() {
+        solverConfiguration.getAdmission().setMaxCells(1_000_000);
+        solverConfiguration.getAdmission().setMaxWait(Duration.ZERO);
+        AdmissionController admissionController = new AdmissionController(solverConfiguration, new SimpleMeterRegistry());
+        SessionService limitedService = createService(solverConfiguration, admissionController);
+        String sessionId = limitedService.create(TestDataFactory.createRandomRequest(new Random(147), 2, 100, 2)).getSessionId();
+        List<ItemDto> items = TestDataFactory.createRandomRequest(new Random(147), 4, 100, 2).getItems().subList(2, 4);
+
+        try (AdmissionController.Admission admission = admissionController.admit(1_000_000)) {
+            assertThrows(AdmissionRejectedException.class, () -> limitedService.append(sessionId, items));
+        }
+        assert (limitedService.append(sessionId, items).getItems() != null);
+    }
+}
@@ -0,0 +1,185 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+class SolverDiagnosticsTest {
+
+    private final WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+
+    @TempDir
+    private Path directory;
+
+    private SolverDiagnostics createDiagnostics(double sampleRate, long maxCells) {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getDiagnostics().getMatrixDump().setDirectory(directory);
+        solverConfiguration.getDiagnostics().getMatrixDump().setSampleRate(sampleRate);
+        solverConfiguration.getDiagnostics().getMatrixDump().setMaxCells(maxCells);
+        return new SolverDiagnostics(solverConfiguration, Runnable::run);
+    }
+
+    private SolverDispatcher createDispatcher(SolverDiagnostics solverDiagnostics, SolverConfiguration.Engine engine) {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.setEngine(engine);
+        return new SolverDispatcher(List.of(
+                new MatrixCombinationSolver(new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential()), new BestCombinationFinder(weightRescaler), weightRescaler, solverDiagnostics),
+                new RollingCombinationSolver(weightRescaler),
+                new BranchAndBoundCombinationSolver(weightRescaler, solverConfiguration)), solverConfiguration, solverDiagnostics);
+    }
+
+    private static void solve(SolverDispatcher solverDispatcher, String fileName) {
+        RequestDto request = TestDataFactory.createRequestFromFile(fileName);
+        solverDispatcher.dispatch(request).solve(request, SolveDeadline.none());
+    }
+
+    private long dumps() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void test_no_dump_by_default() throws IOException {
+        solve(createDispatcher(createDiagnostics(0, 1_000_000), SolverConfiguration.Engine.MATRIX), "example_1");
+        assert (dumps() == 0);
+    }
+
+    @Test
+    void test_requested_dumps() throws IOException {
+        SolverDiagnostics solverDiagnostics = createDiagnostics(0, 1_000_000);
+        SolverDispatcher solverDispatcher = createDispatcher(solverDiagnostics, SolverConfiguration.Engine.MATRIX);
+        assert (solverDiagnostics.requestMatrixDumps(2) == 2);
+        for (int i = 0; i < 3; i++) {
+            solve(solverDispatcher, "example_1");
+        }
+        assert (dumps() == 2);
+        assert (solverDiagnostics.getRequestedMatrixDumps() == 0);
+    }
+
+    @Test
+    void test_sampled_dumps() throws IOException {
+        SolverDispatcher solverDispatcher = createDispatcher(createDiagnostics(1, 1_000_000), SolverConfiguration.Engine.MATRIX);
+        solve(solverDispatcher, "example_1");
+        solve(solverDispatcher, "example_2");
+        assert (dumps() == 2);
+    }
+
+    @Test
+    void test_requested_dumps_bounded() {
+        SolverDiagnostics solverDiagnostics = createDiagnostics(0, 1_000_000);
+        assert (solverDiagnostics.requestMatrixDumps(Integer.MAX_VALUE) == SolverDiagnostics.MAX_REQUESTED_MATRIX_DUMPS);
+        assert (solverDiagnostics.requestMatrixDumps(1) == SolverDiagnostics.MAX_REQUESTED_MATRIX_DUMPS);
+    }
+
+    @Test
+    void test_other_engines_not_rerouted() throws IOException {
+        SolverDiagnostics solverDiagnostics = createDiagnostics(1, 1_000_000);
+        solverDiagnostics.requestMatrixDumps(1);
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        SolverDispatcher.Dispatch dispatch = createDispatcher(solverDiagnostics, SolverConfiguration.Engine.AUTO).dispatch(request);
+        assert (!dispatch.isMatrixDump());
+        assert (dispatch.getSolver().getEngine() != SolverConfiguration.Engine.MATRIX);
+        assert (solverDiagnostics.getRequestedMatrixDumps() == 1);
+        dispatch.solve(request, SolveDeadline.none());
+        assert (dumps() == 0);
+    }
+
+    @Test
+    void test_large_matrix_not_dumped_on_request() throws IOException {
+        SolverDiagnostics solverDiagnostics = createDiagnostics(1, 10);
+        solverDiagnostics.requestMatrixDumps(1);
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        SolverDispatcher.Dispatch dispatch = createDispatcher(solverDiagnostics, SolverConfiguration.Engine.MATRIX).dispatch(request);
+        assert (!dispatch.isMatrixDump());
+        assert (solverDiagnostics.getRequestedMatrixDumps() == 1);
+        dispatch.solve(request, SolveDeadline.none());
+        assert (dumps() == 0);
+    }
+
+    @Test
+    void test_dump_written_off_the_solver_thread() throws IOException {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getDiagnostics().getMatrixDump().setDirectory(directory);
+        solverConfiguration.getDiagnostics().getMatrixDump().setSampleRate(1);
+        List<Runnable> pendingDumps = new ArrayList<>();
+        SolverDiagnostics solverDiagnostics = new SolverDiagnostics(solverConfiguration, pendingDumps::add);
+        solve(createDispatcher(solverDiagnostics, SolverConfiguration.Engine.MATRIX), "example_1");
+        assert (dumps() == 0);
+        assert (pendingDumps.size() == 1);
+        pendingDumps.forEach(Runnable::run);
+        assert (dumps() == 1);
+    }
+
+    @Test
+    void test_dump_skipped_when_too_many_pending() throws IOException {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getDiagnostics().getMatrixDump().setDirectory(directory);
+        solverConfiguration.getDiagnostics().getMatrixDump().setSampleRate(1);
+        SolverDiagnostics solverDiagnostics = new SolverDiagnostics(solverConfiguration, dump -> {
+            throw new RejectedExecutionException();
+        });
+        solve(createDispatcher(solverDiagnostics, SolverConfiguration.Engine.MATRIX), "example_1");
+        assert (dumps() == 0);
+    }
+
+    @Test
+    void test_dump_contains_every_cell() throws IOException {
+        SolverDiagnostics solverDiagnostics = createDiagnostics(0, 1_000_000);
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 5, 10, 1);
+        CombinationMatrix matrix = new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential()).buildMatrix(request);
+        Path file = solverDiagnostics.dumpMatrix(matrix, request).orElseThrow();
+        List<String> lines = Files.readAllLines(file);
+        int rows = matrix.getCombinations().length;
+        int columns = matrix.getCombinations()[0].length;
+        assert (lines.size() == 2 + rows * columns);
+        assert (lines.get(1).equals("row,column,price,weight"));
+        CombinationMatrix.Combination last = matrix.getCombinations()[rows - 1][columns - 1];
+        assert (lines.get(lines.size() - 1).equals((rows - 1) + "," + (columns - 1) + "," + last.getPrice().toPlainString() + "," + last.getWeight()));
+    }
+
+    @Test
+    void test_large_matrix_not_dumped() throws IOException {
+        SolverDiagnostics solverDiagnostics = createDiagnostics(0, 10);
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        CombinationMatrix matrix = new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential()).buildMatrix(request);
+        assert (solverDiagnostics.dumpMatrix(matrix, request).isEmpty());
+        assert (dumps() == 0);
+    }
+
+    @Test
+    void test_solve_fields_added_to_request_context() {
+        SolverDiagnostics solverDiagnostics = createDiagnostics(0, 1_000_000);
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        Solution solution = new Solution(Set.of(2, 7), true, 100, false, 3_000, 1_000);
+        try {
+            solverDiagnostics.summarize("matrix", request, 100, solution, 5_000);
+            assert (ThreadContext.isEmpty());
+
+            ThreadContext.put(SolverDiagnostics.REQUEST_ID, "1");
+            solverDiagnostics.summarize("matrix", request, 100, solution, 5_000);
+            assert (ThreadContext.get("engine").equals("matrix"));
+            assert (ThreadContext.get("solveMicros").equals("5"));
+            assert (ThreadContext.get("buildMicros").equals("3"));
+            assert (ThreadContext.get("backtrackMicros").equals("1"));
+            assert (ThreadContext.get("optimal").equals("true"));
+        } finally {
+            ThreadContext.clearMap();
+        }
+    }
+}
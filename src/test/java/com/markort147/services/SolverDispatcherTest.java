@@ -0,0 +1,103 @@
+package com.markort147.services;
+
+import com.markort147.configs.DataFormatConfiguration;
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+class SolverDispatcherTest {
+
+    private SolverConfiguration solverConfiguration;
+    private SolverDiagnostics solverDiagnostics;
+    private SolverDispatcher solverDispatcher;
+
+    private void setupWithEngine(SolverConfiguration.Engine engine, int weightDecimals) {
+        DataFormatConfiguration dataFormatConfiguration = new DataFormatConfiguration();
+        dataFormatConfiguration.setWeightDecimals(weightDecimals);
+        WeightRescaler weightRescaler = new WeightRescaler(dataFormatConfiguration);
+        solverConfiguration = new SolverConfiguration();
+        solverConfiguration.setEngine(engine);
+        solverDiagnostics = new SolverDiagnostics(solverConfiguration);
+        solverDispatcher = new SolverDispatcher(List.of(
+                new MatrixCombinationSolver(new CombinationMatrixBuilder(weightRescaler, ParallelRowFiller.sequential()), new BestCombinationFinder(weightRescaler), weightRescaler, solverDiagnostics),
+                new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential()),
+                new RollingCombinationSolver(weightRescaler),
+                new MeetInTheMiddleCombinationSolver(),
+                new BranchAndBoundCombinationSolver(weightRescaler, solverConfiguration)), solverConfiguration, solverDiagnostics);
+    }
+
+    private void assertDispatchedTo(SolverConfiguration.Engine engine, RequestDto request) {
+        assert (solverDispatcher.dispatch(request).getSolver().getEngine() == engine);
+    }
+
+    @Test
+    void test_configured_engine() {
+        setupWithEngine(SolverConfiguration.Engine.PRIMITIVE, 2);
+        assertDispatchedTo(SolverConfiguration.Engine.PRIMITIVE, TestDataFactory.createRequestFromFile("example_1"));
+    }
+
+    @Test
+    void test_small_capacity_to_dynamic_programming() {
+        setupWithEngine(SolverConfiguration.Engine.AUTO, 0);
+        assertDispatchedTo(SolverConfiguration.Engine.ROLLING, TestDataFactory.createRequestFromFile("example_1"));
+    }
+
+    @Test
+    void test_few_items_and_large_capacity_to_meet_in_the_middle() {
+        setupWithEngine(SolverConfiguration.Engine.AUTO, 4);
+        assertDispatchedTo(SolverConfiguration.Engine.MEET_IN_THE_MIDDLE, TestDataFactory.createRequestFromFile("example_1"));
+    }
+
+    @Test
+    void test_many_items_and_large_capacity_to_branch_and_bound() {
+        setupWithEngine(SolverConfiguration.Engine.AUTO, 4);
+        assertDispatchedTo(SolverConfiguration.Engine.BRANCH_AND_BOUND, TestDataFactory.createRandomRequest(new Random(147), 1000, 1000, 4));
+    }
+
+    @Test
+    void test_capacity_overflowing_int_to_branch_and_bound() {
+        setupWithEngine(SolverConfiguration.Engine.AUTO, 4);
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 40, 100, 4);
+        request.setMaxWeight(BigDecimal.valueOf(300_000));
+        SolverDispatcher.Dispatch dispatch = solverDispatcher.dispatch(request);
+        assert (dispatch.getSolver().getEngine() == SolverConfiguration.Engine.BRANCH_AND_BOUND);
+        assert (dispatch.getEstimatedWork() >= 0);
+        assert (dispatch.estimateCells(request) >= 0);
+
+        setupWithEngine(SolverConfiguration.Engine.PRIMITIVE, 4);
+        dispatch = solverDispatcher.dispatch(request);
+        assert (dispatch.getEstimatedWork() == Long.MAX_VALUE);
+        assert (dispatch.estimateCells(request) == Long.MAX_VALUE);
+    }
+
+    @Test
+    void test_items_heavier_than_box_lower_the_cost() {
+        setupWithEngine(SolverConfiguration.Engine.AUTO, 4);
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 4);
+        request.getItems().forEach(item -> item.setWeight(item.getWeight().add(BigDecimal.valueOf(100))));
+        assertDispatchedTo(SolverConfiguration.Engine.ROLLING, request);
+    }
+
+    @Test
+    void test_requested_matrix_dump_not_rerouted() {
+        setupWithEngine(SolverConfiguration.Engine.AUTO, 0);
+        RequestDto request = TestDataFactory.createRequestFromFile("example_1");
+        solverDiagnostics.requestMatrixDumps(1);
+        SolverDispatcher.Dispatch dispatch = solverDispatcher.dispatch(request);
+        assert (dispatch.getSolver().getEngine() == SolverConfiguration.Engine.ROLLING);
+        assert (!dispatch.isMatrixDump());
+        assert (solverDiagnostics.getRequestedMatrixDumps() == 1);
+
+        setupWithEngine(SolverConfiguration.Engine.MATRIX, 0);
+        solverDiagnostics.requestMatrixDumps(1);
+        dispatch = solverDispatcher.dispatch(request);
+        assert (dispatch.getSolver().getEngine() == SolverConfiguration.Engine.MATRIX);
+        assert (dispatch.isMatrixDump());
+    }
+}
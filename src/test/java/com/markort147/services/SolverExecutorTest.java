@@ -0,0 +1,70 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SolverExecutorTest {
+
+    private SolverExecutor createExecutor(int threads) {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getExecutor().setThreads(threads);
+        return new SolverExecutor(solverConfiguration, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void test_runs_on_solver_threads() {
+        SolverExecutor solverExecutor = createExecutor(2);
+        try {
+            assert (solverExecutor.execute(() -> Thread.currentThread().getName()).startsWith("solver-"));
+        } finally {
+            solverExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void test_caller_runs() {
+        SolverExecutor solverExecutor = SolverExecutor.callerRuns();
+        assert (solverExecutor.execute(() -> Thread.currentThread()) == Thread.currentThread());
+    }
+
+    @Test
+    void test_disabled_runs_on_caller() {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getExecutor().setEnabled(false);
+        SolverExecutor solverExecutor = new SolverExecutor(solverConfiguration, new SimpleMeterRegistry());
+        assert (solverExecutor.execute(() -> Thread.currentThread()) == Thread.currentThread());
+    }
+
+    @Test
+    void test_runs_directly_on_other_solver_threads() throws Exception {
+        SolverExecutor solverExecutor = createExecutor(1);
+        ExecutorService batchPool = Executors.newSingleThreadExecutor(SolverExecutor.solverThreadFactory("batch-solver-"));
+        try {
+            String threadName = batchPool.submit(() -> solverExecutor.execute(() -> Thread.currentThread().getName())).get();
+            assert (threadName.equals("batch-solver-1"));
+        } finally {
+            batchPool.shutdown();
+            solverExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void test_rethrows_exceptions_of_the_solve() {
+        SolverExecutor solverExecutor = createExecutor(1);
+        try {
+            SolveTimeoutException exception = assertThrows(SolveTimeoutException.class, () -> solverExecutor.execute(() -> {
+                throw new SolveTimeoutException(Duration.ofSeconds(1), Duration.ofSeconds(5));
+            }));
+            assert (exception.getRetryAfter().equals(Duration.ofSeconds(5)));
+        } finally {
+            solverExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.markort147.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.BestCombinationServiceBuilder;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.testhelper.TestValidatorFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class StreamCombinationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BestCombinationService bestCombinationService = new BestCombinationServiceBuilder().build();
+    private final BatchCombinationService batchService = createBatchService();
+    private final StreamCombinationService service = createStreamService();
+
+    private BatchCombinationService createBatchService() {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getBatch().setParallelism(4);
+        return new BatchCombinationService(bestCombinationService, TestValidatorFactory.createValidator(), solverConfiguration, new SimpleMeterRegistry());
+    }
+
+    private StreamCombinationService createStreamService() {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getStream().setMaxInFlight(8);
+        return new StreamCombinationService(batchService, objectMapper, solverConfiguration);
+    }
+
+    @AfterEach
+    void shutdown() {
+        batchService.shutdown();
+    }
+
+    private List<JsonNode> process(String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.process(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8).lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+    }
+
+    private static Set<Integer> items(JsonNode result) {
+        Set<Integer> items = new HashSet<>();
+        result.get("response").get("items").forEach(item -> items.add(item.asInt()));
+        return items;
+    }
+
+    @Test
+    void test_results_echo_ids() throws Exception {
+        Random random = new Random(147);
+        StringBuilder input = new StringBuilder();
+        Map<String, RequestDto> requests = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), 2);
+            String id = "request-" + i;
+            requests.put(id, request);
+            ObjectNode line = objectMapper.valueToTree(request);
+            line.put("id", id);
+            input.append(line).append('\n');
+        }
+
+        List<JsonNode> results = process(input.toString());
+
+        assert (results.size() == requests.size());
+        Set<String> ids = new HashSet<>();
+        for (JsonNode result : results) {
+            String id = result.get("id").asText();
+            assert (ids.add(id));
+            assert (result.get("error") == null);
+            assert (items(result).equals(bestCombinationService.process(requests.get(id)).getItems()));
+        }
+    }
+
+    @Test
+    void test_invalid_lines() throws Exception {
+        String input = """
+                {"id": "valid", "max_weight": 10, "items": [{"Item ID": 1, "Weight": 5, "Price": 10}, {"Item ID": 2, "Weight": 6, "Price": 12}]}
+
+                {"id": "too-heavy", "max_weight": 101, "items": []}
+                {"id": "malformed", "max_weight":
+                """;
+
+        Map<String, JsonNode> results = new HashMap<>();
+        for (JsonNode result : process(input)) {
+            results.put(result.has("id") ? result.get("id").asText() : null, result);
+        }
+
+        assert (results.size() == 3);
+        assert (items(results.get("valid")).equals(Set.of(2)));
+        assert (results.get("too-heavy").get("error").asText().startsWith("Argument maxWeight not valid"));
+        assert (results.get(null).get("error").asText().startsWith("Line 4 not valid"));
+    }
+
+    @Test
+    void test_read_failure_completes_requests_in_flight() {
+        String line = objectMapper.valueToTree(TestDataFactory.createRequestFromFile("example_1")).toString() + "\n";
+        InputStream input = new SequenceInputStream(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        IOException exception = assertThrows(IOException.class, () -> service.process(input, output));
+        assert (exception.getMessage().equals("Connection reset"));
+        assert (output.toString(StandardCharsets.UTF_8).lines().count() == 1);
+    }
+
+    @Test
+    void test_write_failure() {
+        String line = objectMapper.valueToTree(TestDataFactory.createRequestFromFile("example_1")).toString() + "\n";
+        InputStream input = new ByteArrayInputStream(line.repeat(100).getBytes(StandardCharsets.UTF_8));
+        OutputStream failingOutput = new OutputStream() {
+            @Override
+            public void write(int b) {
+                throw new UncheckedIOException(new IOException("Broken pipe"));
+            }
+        };
+
+        UncheckedIOException exception = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(UncheckedIOException.class, () -> service.process(input, failingOutput)));
+        assert (exception.getCause().getMessage().equals("Broken pipe"));
+    }
+}
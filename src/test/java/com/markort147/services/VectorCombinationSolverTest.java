@@ -0,0 +1,101 @@
+package com.markort147.services;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestDataFactory;
+import com.markort147.utils.WeightRescaler;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class VectorCombinationSolverTest {
+
+    private final WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+    private final VectorCombinationSolver solver = new VectorCombinationSolver(weightRescaler, ParallelRowFiller.sequential());
+    private final VectorCombinationSolver scalarSolver = new VectorCombinationSolver(weightRescaler, ParallelRowFiller.sequential(), new ScalarRowKernel());
+    private final PrimitiveCombinationSolver primitiveSolver = new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential());
+
+    private void assertCombinationIs(String fileName, Integer... args) {
+        Set<Integer> bestCombination = solver.getBestCombination(TestDataFactory.createRequestFromFile(fileName));
+        assert (bestCombination.equals(new HashSet<>(Arrays.asList(args))));
+    }
+
+    @Test
+    void test_files() {
+        assertCombinationIs("example_1", 2, 7);
+        assertCombinationIs("example_2", 4);
+        assertCombinationIs("example_3");
+        assertCombinationIs("example_4", 8, 9);
+        assertCombinationIs("input_1", 2, 3);
+        assertCombinationIs("input_2", 2, 3);
+        assertCombinationIs("input_3", 1, 3);
+        assertCombinationIs("input_4");
+        assertCombinationIs("input_5");
+        assertCombinationIs("input_6", 4, 2);
+    }
+
+    @Test
+    void test_lighter_combination_preferred_at_same_price() {
+        RequestDto request = new RequestDto();
+        request.setMaxWeight(BigDecimal.TEN);
+        request.setItems(List.of(item(1, "10", "5"), item(2, "8.5", "5"), item(3, "9", "5")));
+        assert (solver.getBestCombination(request).equals(Set.of(2)));
+        assert (scalarSolver.getBestCombination(request).equals(Set.of(2)));
+    }
+
+    @Test
+    void test_vector_kernel_selected_when_module_added() {
+        assert (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        assert (VectorCombinationSolver.selectKernel() instanceof VectorRowKernel);
+    }
+
+    @Test
+    void test_same_combinations_of_primitive_table() {
+        Random random = new Random(147);
+        for (int i = 0; i < 500; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), random.nextInt(3));
+            Set<Integer> expected = primitiveSolver.getBestCombination(request);
+            assert (solver.getBestCombination(request).equals(expected));
+            assert (scalarSolver.getBestCombination(request).equals(expected));
+        }
+    }
+
+    @Test
+    void test_same_combinations_with_parallel_fill() {
+        SolverConfiguration solverConfiguration = new SolverConfiguration();
+        solverConfiguration.getParallelFill().setMinColumns(64);
+        solverConfiguration.getParallelFill().setBlockColumns(37);
+        VectorCombinationSolver parallelSolver = new VectorCombinationSolver(weightRescaler, new ParallelRowFiller(solverConfiguration));
+        Random random = new Random(147);
+        for (int i = 0; i < 100; i++) {
+            RequestDto request = TestDataFactory.createRandomRequest(random, 1 + random.nextInt(15), random.nextInt(101), 2);
+            assert (parallelSolver.getBestCombination(request).equals(primitiveSolver.getBestCombination(request)));
+        }
+    }
+
+    private static ItemDto item(int id, String weight, String price) {
+        ItemDto item = new ItemDto();
+        item.setId(id);
+        item.setWeight(new BigDecimal(weight));
+        item.setPrice(new BigDecimal(price));
+        return item;
+    }
+
+    @Test
+    void test_stops_at_deadline() {
+        RequestDto request = TestDataFactory.createRandomRequest(new Random(147), 15, 100, 2);
+        Solution solution = solver.solve(request, SolveDeadline.after(Duration.ofNanos(1)));
+        assert (solution.isTimedOut());
+        assert (!solution.isOptimal());
+        assert (solution.getItems().isEmpty());
+        assert (!solver.solve(request, SolveDeadline.after(Duration.ofMinutes(1))).isTimedOut());
+    }
+}
@@ -0,0 +1,108 @@
+package com.markort147.testhelper;
+
+import com.markort147.configs.SolverConfiguration;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.services.AdmissionController;
+import com.markort147.services.BestCombinationService;
+import com.markort147.services.BranchAndBoundCombinationSolver;
+import com.markort147.services.CombinationSolver;
+import com.markort147.services.MeetInTheMiddleCombinationSolver;
+import com.markort147.services.ParallelRowFiller;
+import com.markort147.services.PrimitiveCombinationSolver;
+import com.markort147.services.RequestPreprocessor;
+import com.markort147.services.ResultCache;
+import com.markort147.services.RollingCombinationSolver;
+import com.markort147.services.SolverDiagnostics;
+import com.markort147.services.SolverDispatcher;
+import com.markort147.services.SolverExecutor;
+import com.markort147.utils.WeightRescaler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a {@link BestCombinationService} without a Spring context.
+ * <p>
+ * By default the service has the result cache disabled, solves on the calling thread, and dispatches to the primitive
+ * (filling the rows sequentially), rolling, meet-in-the-middle and branch-and-bound solvers.
+ */
+public class BestCombinationServiceBuilder {
+
+    private WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+    private SolverConfiguration solverConfiguration;
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResultCache resultCache;
+    private SolverExecutor solverExecutor = SolverExecutor.callerRuns();
+    private List<CombinationSolver> solvers;
+    private final List<CombinationSolver> additionalSolvers = new ArrayList<>();
+
+    public BestCombinationServiceBuilder weightRescaler(WeightRescaler weightRescaler) {
+        this.weightRescaler = weightRescaler;
+        return this;
+    }
+
+    /**
+     * Sets the configuration of the solvers, used as it is: its result cache is not disabled.
+     */
+    public BestCombinationServiceBuilder solverConfiguration(SolverConfiguration solverConfiguration) {
+        this.solverConfiguration = solverConfiguration;
+        return this;
+    }
+
+    public BestCombinationServiceBuilder meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    public BestCombinationServiceBuilder resultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+        return this;
+    }
+
+    public BestCombinationServiceBuilder solverExecutor(SolverExecutor solverExecutor) {
+        this.solverExecutor = solverExecutor;
+        return this;
+    }
+
+    /**
+     * Replaces the default solvers.
+     */
+    public BestCombinationServiceBuilder solvers(CombinationSolver... solvers) {
+        this.solvers = List.of(solvers);
+        return this;
+    }
+
+    /**
+     * Adds a solver to the default ones, or to the ones set with {@link #solvers(CombinationSolver...)}.
+     */
+    public BestCombinationServiceBuilder addSolver(CombinationSolver solver) {
+        additionalSolvers.add(solver);
+        return this;
+    }
+
+    public BestCombinationService build() {
+        SolverConfiguration configuration = solverConfiguration;
+        if (configuration == null) {
+            configuration = new SolverConfiguration();
+            configuration.getCache().setEnabled(false);
+        }
+        List<CombinationSolver> dispatchedSolvers = new ArrayList<>(solvers != null ? solvers : List.of(
+                new PrimitiveCombinationSolver(weightRescaler, ParallelRowFiller.sequential()),
+                new RollingCombinationSolver(weightRescaler),
+                new MeetInTheMiddleCombinationSolver(),
+                new BranchAndBoundCombinationSolver(weightRescaler, configuration)));
+        dispatchedSolvers.addAll(additionalSolvers);
+        SolverDiagnostics solverDiagnostics = new SolverDiagnostics(configuration);
+        return new BestCombinationService(
+                new RequestPreprocessor(meterRegistry),
+                new SolverDispatcher(dispatchedSolvers, configuration, solverDiagnostics),
+                resultCache != null ? resultCache : new ResultCache(configuration, meterRegistry),
+                new AdmissionController(configuration, meterRegistry),
+                solverExecutor,
+                solverDiagnostics,
+                configuration,
+                meterRegistry);
+    }
+}
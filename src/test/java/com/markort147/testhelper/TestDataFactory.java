@@ -1,13 +1,18 @@
 package com.markort147.testhelper;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.markort147.models.ItemDto;
 import com.markort147.models.RequestDto;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 public class TestDataFactory {
 
@@ -23,4 +28,19 @@ public class TestDataFactory {
         }
     }
 
-}
\ No newline at end of file
+    public static RequestDto createRandomRequest(Random random, int numberOfItems, int maxWeight, int weightDecimals) {
+        List<ItemDto> items = new ArrayList<>();
+        for (int i = 1; i <= numberOfItems; i++) {
+            ItemDto item = new ItemDto();
+            item.setId(i);
+            item.setWeight(BigDecimal.valueOf(random.nextInt(100 * (int) Math.pow(10, weightDecimals) + 1), weightDecimals));
+            item.setPrice(BigDecimal.valueOf(random.nextInt(101)));
+            items.add(item);
+        }
+        RequestDto request = new RequestDto();
+        request.setMaxWeight(BigDecimal.valueOf(maxWeight));
+        request.setItems(items);
+        return request;
+    }
+
+}
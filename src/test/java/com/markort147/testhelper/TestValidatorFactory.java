@@ -0,0 +1,45 @@
+package com.markort147.testhelper;
+
+import com.markort147.configs.ConstraintsConfiguration;
+import com.markort147.configs.DataFormatConfiguration;
+import com.markort147.mocks.ConstraintsConfigurationMock;
+import com.markort147.mocks.DataFormatConfigurationMock;
+import com.markort147.validators.BoxWeightValidator;
+import com.markort147.validators.ItemPriceValidator;
+import com.markort147.validators.ItemWeightValidator;
+import com.markort147.validators.ItemsListValidator;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorFactory;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * Builds a validator applying the constraints of the application properties without a Spring context,
+ * creating the custom validators with the configuration mocks.
+ */
+public class TestValidatorFactory {
+
+    public static Validator createValidator() {
+        return createValidator(new ConstraintsConfigurationMock(), new DataFormatConfigurationMock());
+    }
+
+    public static Validator createValidator(ConstraintsConfiguration constraintsConfiguration, DataFormatConfiguration dataFormatConfiguration) {
+        ConstraintValidatorFactory defaultFactory = Validation.byDefaultProvider().configure().getDefaultConstraintValidatorFactory();
+        ConstraintValidatorFactory factory = new ConstraintValidatorFactory() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+                if (key == BoxWeightValidator.class) return (T) new BoxWeightValidator(constraintsConfiguration, dataFormatConfiguration);
+                if (key == ItemWeightValidator.class) return (T) new ItemWeightValidator(constraintsConfiguration, dataFormatConfiguration);
+                if (key == ItemPriceValidator.class) return (T) new ItemPriceValidator(constraintsConfiguration);
+                if (key == ItemsListValidator.class) return (T) new ItemsListValidator(constraintsConfiguration);
+                return defaultFactory.getInstance(key);
+            }
+
+            @Override
+            public void releaseInstance(ConstraintValidator<?, ?> instance) {
+            }
+        };
+        return Validation.byDefaultProvider().configure().constraintValidatorFactory(factory).buildValidatorFactory().getValidator();
+    }
+}
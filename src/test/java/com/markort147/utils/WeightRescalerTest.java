@@ -0,0 +1,68 @@
+package com.markort147.utils;
+
+import com.markort147.mocks.DataFormatConfigurationMock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+class WeightRescalerTest {
+
+    private final WeightRescaler weightRescaler = new WeightRescaler(new DataFormatConfigurationMock());
+    private WeightScale weightScale;
+
+    private void setupScaleOf(String... weights) {
+        List<BigDecimal> values = Arrays.stream(weights).map(BigDecimal::new).toList();
+        weightScale = weightRescaler.getScale(values);
+    }
+
+    private void assertScaleIs(int decimals, int divisor) {
+        assert (weightScale.getDecimals() == decimals);
+        assert (weightScale.getDivisor() == divisor);
+    }
+
+    @Test
+    void test_integer_weights() {
+        setupScaleOf("4", "6.00", "10");
+        assertScaleIs(0, 2);
+        assert (weightScale.rescaleAsInt(new BigDecimal("6.00")) == 3);
+        assert (weightScale.rescaleCapacityAsInt(new BigDecimal("11.99")) == 5);
+    }
+
+    @Test
+    void test_decimal_weights() {
+        setupScaleOf("2.5", "10", "7.5");
+        assertScaleIs(1, 25);
+        assert (weightScale.rescaleAsInt(new BigDecimal("7.5")) == 3);
+        assert (weightScale.rescaleCapacityAsInt(new BigDecimal("12.49")) == 4);
+    }
+
+    @Test
+    void test_weights_beyond_configured_decimals() {
+        setupScaleOf("1.234", "2.5");
+        assertScaleIs(2, 1);
+        assert (weightScale.rescaleAsInt(new BigDecimal("1.234")) == 123);
+    }
+
+    @Test
+    void test_no_weights() {
+        setupScaleOf();
+        assertScaleIs(0, 1);
+        setupScaleOf("0", "0.00");
+        assertScaleIs(0, 1);
+    }
+
+    @Test
+    void test_rescaled_weights_at_int_boundary() {
+        WeightScale fourDecimals = new WeightScale(4, 1);
+        assert (fourDecimals.rescaleCapacityAsInt(new BigDecimal("214748.3646")) == WeightScale.MAX_RESCALED_WEIGHT);
+        assert (fourDecimals.rescaleCapacityAsInt(new BigDecimal("214748.36469")) == WeightScale.MAX_RESCALED_WEIGHT);
+        assertThrows(ArithmeticException.class, () -> fourDecimals.rescaleCapacityAsInt(new BigDecimal("214748.3647")));
+        assertThrows(ArithmeticException.class, () -> fourDecimals.rescaleCapacityAsInt(new BigDecimal(300_000)));
+        assertThrows(ArithmeticException.class, () -> fourDecimals.rescaleAsInt(new BigDecimal(300_000)));
+        assertThrows(ArithmeticException.class, () -> weightRescaler.rescaleAsInt(new BigDecimal(30_000_000)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.markort147.validators;
+
+import com.markort147.configs.DataFormatConfiguration;
+import com.markort147.mocks.ConstraintsConfigurationMock;
+import com.markort147.models.ItemDto;
+import com.markort147.models.RequestDto;
+import com.markort147.testhelper.TestValidatorFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+class WeightValidatorTest {
+
+    private final Validator validator = createValidator();
+
+    private static Validator createValidator() {
+        ConstraintsConfigurationMock constraintsConfiguration = new ConstraintsConfigurationMock();
+        constraintsConfiguration.getBox().setMaxWeight(new BigDecimal(300_000));
+        constraintsConfiguration.getItems().setMaxWeight(new BigDecimal(300_000));
+        DataFormatConfiguration dataFormatConfiguration = new DataFormatConfiguration();
+        dataFormatConfiguration.setWeightDecimals(4);
+        return TestValidatorFactory.createValidator(constraintsConfiguration, dataFormatConfiguration);
+    }
+
+    private static RequestDto request(String maxWeight, String itemWeight) {
+        ItemDto item = new ItemDto();
+        item.setId(1);
+        item.setWeight(new BigDecimal(itemWeight));
+        item.setPrice(BigDecimal.ONE);
+        RequestDto request = new RequestDto();
+        request.setMaxWeight(new BigDecimal(maxWeight));
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    @Test
+    void test_weights_at_int_boundary() {
+        assert (validator.validate(request("214748.3646", "214748.3646")).isEmpty());
+
+        Set<ConstraintViolation<RequestDto>> violations = validator.validate(request("214748.3647", "1"));
+        assert (violations.size() == 1);
+        assert (violations.iterator().next().getPropertyPath().toString().equals("maxWeight"));
+
+        violations = validator.validate(request("300000", "300000"));
+        assert (violations.size() == 2);
+    }
+}